@@ -0,0 +1,142 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for the todo API.
+ *
+ * <pre>
+ * java scripts/LoadHarness.java &lt;baseUrl&gt; &lt;get|post|list&gt; &lt;concurrency&gt; &lt;seconds&gt; [label]
+ * </pre>
+ *
+ * Prints one CSV line: label,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms
+ */
+public class LoadHarness {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: LoadHarness <baseUrl> <get|post|list> <concurrency> <seconds> [label]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String scenario = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+        String label = args.length > 4 ? args[4] : "run";
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long seededId = seed(client, baseUrl);
+
+        // short warm-up so JIT and pool start-up do not land in the measured window
+        run(client, baseUrl, scenario, seededId, concurrency, Math.min(5, seconds));
+        Result result = run(client, baseUrl, scenario, seededId, concurrency, seconds);
+
+        long[] latencies = result.latenciesNanos();
+        Arrays.sort(latencies);
+        System.out.printf("%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                label, scenario, concurrency, latencies.length, result.errors(),
+                latencies.length / (double) seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String scenario, long seededId,
+                              int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int worker = 0; worker < concurrency; worker++) {
+            long[] samples = new long[1 << 16];
+            perWorker.add(samples);
+            int slot = worker;
+            Thread thread = new Thread(() -> {
+                long[] buffer = samples;
+                int count = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = request(baseUrl, scenario, seededId);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                            perWorker.set(slot, buffer);
+                        }
+                        buffer[count++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    counts[slot] = count;
+                    done.countDown();
+                }
+            }, "load-" + worker);
+            thread.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (int worker = 0; worker < concurrency; worker++) {
+            System.arraycopy(perWorker.get(worker), 0, merged, offset, counts[worker]);
+            offset += counts[worker];
+        }
+        return new Result(merged, errors.get());
+    }
+
+    private static HttpRequest request(String baseUrl, String scenario, long seededId) {
+        return switch (scenario) {
+            case "get" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos/" + seededId)).GET().build();
+            case "list" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos?limit=50")).GET().build();
+            case "post" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"title\":\"load test todo\",\"description\":\"created by LoadHarness\"}"))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    private static long seed(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(request(baseUrl, "post", 0), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ID.matcher(response.body());
+        if (response.statusCode() >= 400 || !matcher.find()) {
+            throw new IllegalStateException("Could not seed a todo: " + response.statusCode() + " " + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares the old in-memory setup (Hibernate ddl-auto=update, no migrations) with the prod profile
+# (file-backed H2, Flyway, ddl-auto=validate): startup time over several cold starts, then request
+# latency under the same load. Startup times go to target/startup.csv, load results to
+# target/persistence.csv.
+#
+#   scripts/compare-persistence.sh [starts] [concurrency] [seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+STARTS="${1:-5}"
+CONCURRENCY="${2:-50}"
+SECONDS_PER_RUN="${3:-30}"
+PORT=18080
+BASE_URL="http://localhost:${PORT}"
+DATA_DIR=target/persistence-data
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/todo-api-*.jar | grep -v original | head -n 1)
+echo "label,run,startup_seconds" > target/startup.csv
+echo "label,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms" > target/persistence.csv
+
+start_app() {
+  local label="$1"; shift
+  java -jar "$JAR" --server.port="$PORT" --todo.rate-limit.enabled=false "$@" > "target/${label}.log" 2>&1 &
+  APP_PID=$!
+  until curl -sf "${BASE_URL}/api/todos?limit=1" > /dev/null; do sleep 0.2; done
+}
+
+stop_app() {
+  kill "$APP_PID" 2>/dev/null || true
+  wait "$APP_PID" 2>/dev/null || true
+}
+
+measure() {
+  local label="$1"; shift
+  for run in $(seq 1 "$STARTS"); do
+    start_app "$label" "$@"
+    seconds=$(grep -o 'Started DemoApplication in [0-9.]*' "target/${label}.log" | awk '{print $4}')
+    echo "${label},${run},${seconds}" >> target/startup.csv
+    stop_app
+  done
+
+  start_app "$label" "$@"
+  trap stop_app RETURN
+  for scenario in post get list; do
+    java scripts/LoadHarness.java "$BASE_URL" "$scenario" "$CONCURRENCY" "$SECONDS_PER_RUN" "$label" | tee -a target/persistence.csv
+  done
+}
+
+measure memory-update \
+  --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update
+
+rm -rf "$DATA_DIR"
+measure file-flyway \
+  --spring.profiles.active=prod \
+  --spring.datasource.url="jdbc:h2:file:./${DATA_DIR}/tododb;CACHE_SIZE=131072;DB_CLOSE_ON_EXIT=FALSE"
+
+column -s, -t < target/startup.csv
+column -s, -t < target/persistence.csv
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Compares the servlet stack (JPA) with the reactive profile (WebFlux + R2DBC) under the same load.
+# Results are appended to target/stacks.csv.
+#
+#   scripts/compare-stacks.sh [concurrency] [seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-400}"
+SECONDS_PER_RUN="${2:-30}"
+PORT=18080
+BASE_URL="http://localhost:${PORT}"
+OUT=target/stacks.csv
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/todo-api-*.jar | grep -v original | head -n 1)
+echo "label,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms" > "$OUT"
+
+run_stack() {
+  local label="$1" profiles="$2"
+  java -jar "$JAR" --server.port="$PORT" --todo.rate-limit.enabled=false --spring.profiles.active="$profiles" > "target/${label}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+
+  until curl -sf "${BASE_URL}/api/todos?limit=1" > /dev/null; do sleep 0.5; done
+
+  for scenario in get list post; do
+    java scripts/LoadHarness.java "$BASE_URL" "$scenario" "$CONCURRENCY" "$SECONDS_PER_RUN" "$label" | tee -a "$OUT"
+  done
+}
+
+run_stack servlet default
+run_stack reactive reactive
+
+column -s, -t < "$OUT"
@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Compares cold start of the plain JIT jar, the AOT + CDS build and (if built) the native image:
+# wall time from launch to the first successful GET /api/todos, and resident memory once idle.
+# Build the variants first:
+#   ./mvnw -Pfast-startup -DskipTests package
+#   ./mvnw -Pnative,fast-startup -DskipTests native:compile   (optional, needs GraalVM)
+# Results are appended to target/startup-variants.csv.
+#
+#   scripts/compare-startup.sh [starts] [idle-seconds] [start-timeout-seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+STARTS="${1:-5}"
+IDLE_SECONDS="${2:-10}"
+START_TIMEOUT_SECONDS="${3:-120}"
+PORT=18080
+BASE_URL="http://localhost:${PORT}"
+OUT=target/startup-variants.csv
+
+JAR=$(ls target/todo-api-*.jar | grep -v original | head -n 1)
+CDS_JAR="target/cds/$(basename "$JAR")"
+CDS_ARCHIVE=target/cds/application.jsa
+NATIVE=target/todo-api
+echo "label,run,first_request_ms,idle_rss_mb" > "$OUT"
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+measure() {
+  local label="$1"; shift
+  for run in $(seq 1 "$STARTS"); do
+    local started
+    started=$(now_ms)
+    local log="target/${label}.log"
+    "$@" --server.port="$PORT" --todo.rate-limit.enabled=false > "$log" 2>&1 &
+    local pid=$!
+    local deadline=$(( started + START_TIMEOUT_SECONDS * 1000 ))
+    until curl -sf "${BASE_URL}/api/todos?limit=1" > /dev/null; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "${label} exited before serving requests; see ${log}" >&2
+        exit 1
+      fi
+      if (( $(now_ms) > deadline )); then
+        echo "${label} not ready after ${START_TIMEOUT_SECONDS}s; see ${log}" >&2
+        kill "$pid" 2>/dev/null || true
+        exit 1
+      fi
+      sleep 0.02
+    done
+    local ready
+    ready=$(now_ms)
+
+    sleep "$IDLE_SECONDS"
+    local rss_kb
+    rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+    echo "${label},${run},$(( ready - started )),$(( rss_kb / 1024 ))" | tee -a "$OUT"
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+  done
+}
+
+measure jit java -jar "$JAR"
+
+if [[ -f "$CDS_ARCHIVE" ]]; then
+  measure aot-cds java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$CDS_JAR" \
+    --spring.profiles.active=fast-startup
+else
+  echo "No CDS archive; build with ./mvnw -Pfast-startup -DskipTests package" >&2
+fi
+
+if [[ -x "$NATIVE" ]]; then
+  measure native "$NATIVE" --spring.profiles.active=fast-startup
+else
+  echo "No native image at ${NATIVE}; skipping" >&2
+fi
+
+column -s, -t < "$OUT"
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Compares the platform-thread pool with virtual threads for GET /api/todos/{id} and POST /api/todos.
+# Needs a Java 21+ runtime on PATH; results are appended to target/thread-modes.csv.
+#
+#   scripts/compare-thread-modes.sh [concurrency] [seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-400}"
+SECONDS_PER_RUN="${2:-30}"
+PORT=18080
+BASE_URL="http://localhost:${PORT}"
+OUT=target/thread-modes.csv
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/todo-api-*.jar | grep -v original | head -n 1)
+echo "label,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms" > "$OUT"
+
+run_mode() {
+  local label="$1" profiles="$2"
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --server.port="$PORT" --spring.profiles.active="$profiles" --spring.jpa.show-sql=false --todo.rate-limit.enabled=false \
+    > "target/${label}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+
+  until curl -sf "${BASE_URL}/api/todos?limit=1" > /dev/null; do sleep 0.5; done
+
+  for scenario in get post; do
+    java scripts/LoadHarness.java "$BASE_URL" "$scenario" "$CONCURRENCY" "$SECONDS_PER_RUN" "$label" | tee -a "$OUT"
+  done
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+echo "Pinned-thread traces (if any) are in target/virtual.log"
+column -s, -t < "$OUT"
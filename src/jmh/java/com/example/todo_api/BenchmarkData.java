@@ -0,0 +1,62 @@
+package com.example.todo_api;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.model.entity.Todo;
+
+final class BenchmarkData {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Todo> todos(int size) {
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime createdAt = BASE.plusSeconds(i);
+            Todo todo = new Todo();
+            todo.setId((long) i + 1);
+            todo.setTitle("Todo number " + i);
+            todo.setDescription("Description for todo " + i + " with some text");
+            todo.setCompleted(i % 3 == 0);
+            todo.setCreatedAt(createdAt);
+            todo.setUpdatedAt(createdAt.plusMinutes(5));
+            todo.setVersion(0L);
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    /**
+     * A service without collaborators; only good for calling the pure mapping methods.
+     */
+    static TodoService unwiredService() {
+        return new TodoService(null, null, null, null, null, null);
+    }
+
+    /**
+     * The rows {@link #todos} holds, as the stores hand them to TodoService.
+     */
+    static List<TodoView> views(int size) {
+        List<TodoView> views = new ArrayList<>(size);
+        for (Todo todo : todos(size)) {
+            views.add(new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                    todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion()));
+        }
+        return views;
+    }
+
+    static List<TodoResponse> responses(int size) {
+        TodoService mapper = unwiredService();
+        List<TodoResponse> responses = new ArrayList<>(size);
+        for (TodoView todo : views(size)) {
+            responses.add(mapper.mapToResponse(todo));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todo_api;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.model.entity.Todo;
+import com.example.todo_api.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Query plus serialization of one list response, through managed entities mapped to
+ * {@link TodoResponse} (the old path) and through {@link TodoView} projections. Run with the GC
+ * profiler to get bytes allocated per request:
+ * <pre>./mvnw -Pbenchmarks package exec:exec -Djmh.args="TodoListAllocation -prof gc"</pre>
+ * and compare {@code gc.alloc.rate.norm} between the two methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoListAllocationBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:alloc_" + size + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "todo.sql.sample-rate=0",
+                        "logging.level.root=WARN")
+                .run();
+        todoRepository = context.getBean(TodoRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        context.getBean(JdbcTemplate.class).update("insert into todos (id, title, description, completed, created_at, updated_at, version) "
+                        + "select x, concat('Todo number ', x), concat('Description for todo ', x), mod(x, 3) = 0, "
+                        + "dateadd('SECOND', x, ?), dateadd('SECOND', x + 60, ?), 0 from system_range(1, ?)",
+                BASE, BASE, size * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityMapping() {
+        return readOnlyTransaction.execute(status -> {
+            List<Todo> rows = entityManager
+                    .createQuery("select t from Todo t order by t.createdAt desc, t.id desc", Todo.class)
+                    .setMaxResults(size)
+                    .getResultList();
+            List<TodoResponse> items = rows.stream()
+                    .map(TodoListAllocationBenchmark::toResponse)
+                    .collect(Collectors.toList());
+            return serialize(items);
+        });
+    }
+
+    @Benchmark
+    public byte[] viewProjection() {
+        return readOnlyTransaction.execute(status -> serialize(todoRepository.findFirstPage(Limit.of(size))));
+    }
+
+    // the entity-to-DTO copy list responses made before the TodoView projection
+    private static TodoResponse toResponse(Todo todo) {
+        TodoResponse response = new TodoResponse();
+        response.setId(todo.getId());
+        response.setTitle(todo.getTitle());
+        response.setDescription(todo.getDescription());
+        response.setCompleted(todo.isCompleted());
+        response.setCreatedAt(todo.getCreatedAt());
+        response.setUpdatedAt(todo.getUpdatedAt());
+        response.setVersion(todo.getVersion());
+        return response;
+    }
+
+    private byte[] serialize(List<?> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
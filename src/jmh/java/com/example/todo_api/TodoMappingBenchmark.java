@@ -0,0 +1,51 @@
+package com.example.todo_api;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+
+/**
+ * View to DTO mapping as done for every row of a list response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoMappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private TodoService todoService;
+    private List<TodoView> todos;
+
+    @Setup
+    public void setUp() {
+        todoService = BenchmarkData.unwiredService();
+        todos = BenchmarkData.views(size);
+    }
+
+    @Benchmark
+    public List<TodoResponse> mapToResponse() {
+        return todos.stream()
+                .map(todoService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+}
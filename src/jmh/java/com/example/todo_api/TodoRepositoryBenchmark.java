@@ -0,0 +1,106 @@
+package com.example.todo_api;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.model.entity.Todo;
+import com.example.todo_api.repository.TodoRepository;
+
+/**
+ * Repository hot paths against an embedded H2 seeded with {@code rows} todos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TodoRepositoryBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private LocalDateTime middleCreatedAt;
+    private long middleId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench_" + rows + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        todoRepository = context.getBean(TodoRepository.class);
+
+        // seed in a single set-based statement; going through JPA would dominate set-up time at 1M rows
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into todos (id, title, description, completed, created_at, updated_at, version) "
+                        + "select x, concat('Todo number ', x), concat('Description for todo ', x), mod(x, 3) = 0, "
+                        + "dateadd('SECOND', x, ?), dateadd('SECOND', x + 60, ?), 0 from system_range(1, ?)",
+                BASE, BASE, rows);
+        jdbcTemplate.execute("alter sequence todos_seq restart with " + (rows + 1));
+
+        middleId = rows / 2;
+        middleCreatedAt = BASE.plusSeconds(middleId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Todo> findById() {
+        return todoRepository.findById(ThreadLocalRandom.current().nextLong(1, rows + 1));
+    }
+
+    @Benchmark
+    public List<TodoView> firstPage() {
+        return todoRepository.findFirstPage(Limit.of(51));
+    }
+
+    @Benchmark
+    public List<TodoView> deepPage() {
+        return todoRepository.findPageAfter(middleCreatedAt, middleId, Limit.of(51));
+    }
+
+    @Benchmark
+    public List<TodoView> firstPageByCompleted() {
+        return todoRepository.findFirstPageByCompleted(true, Limit.of(51));
+    }
+
+    @Benchmark
+    public TodoCollectionVersion collectionVersion() {
+        return todoRepository.findCollectionVersion();
+    }
+}
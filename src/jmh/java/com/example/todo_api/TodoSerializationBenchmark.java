@@ -0,0 +1,67 @@
+package com.example.todo_api;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.todo_api.model.dto.TodoResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson serialization of list payloads with the ObjectMapper that Boot builds from application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter listWriter;
+    private List<TodoResponse> todos;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TodoResponse.class));
+        todos = BenchmarkData.responses(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(todos);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.todo_api;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import com.example.todo_api.model.dto.TodoPageResponse;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.store.TodoStore;
+
+/**
+ * Throughput of TodoService over each storage engine, seeded with {@code rows} todos: {@code jpa}
+ * (in-memory H2), {@code jpa-file} (file-backed H2, durable like the memory store), {@code memory}
+ * (log left to the page cache) and {@code memory-fsync} (log forced before each write returns).
+ * Only calls that bypass the Caffeine caches are measured, so the engine is what differs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TodoStoreBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"jpa", "jpa-file", "memory", "memory-fsync"})
+    public String engine;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("todo-store-bench");
+        String url = engine.equals("jpa-file")
+                ? "jdbc:h2:file:" + directory.resolve("h2") + ";DB_CLOSE_DELAY=-1"
+                : "jdbc:h2:mem:store_bench_" + engine + ";DB_CLOSE_DELAY=-1";
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.show-sql=false",
+                        "todo.archive.enabled=false",
+                        "todo.store.engine=" + (engine.startsWith("memory") ? "memory" : "jpa"),
+                        "todo.store.memory.directory=" + directory.resolve("store"),
+                        "todo.store.memory.fsync=" + engine.equals("memory-fsync"),
+                        "logging.level.root=WARN")
+                .run();
+        todoService = context.getBean(TodoService.class);
+        seed();
+
+        request = new TodoRequest();
+        request.setTitle("Benchmark todo");
+        request.setDescription("Created by TodoStoreBenchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public TodoPageResponse firstPage() {
+        return todoService.getTodoPage(null, 50, null);
+    }
+
+    @Benchmark
+    public String todoEtag() {
+        return todoService.getTodoEtag(randomId());
+    }
+
+    @Benchmark
+    public String collectionEtag() {
+        return todoService.getCollectionEtag(true);
+    }
+
+    @Benchmark
+    public TodoResponse create() {
+        return todoService.createTodo(request);
+    }
+
+    @Benchmark
+    public TodoResponse toggle() {
+        return todoService.toggleTodoStatus(randomId(), null);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    private void seed() {
+        if (engine.startsWith("jpa")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("insert into todos (id, title, description, completed, created_at, updated_at, version) "
+                            + "select x, concat('Todo number ', x), concat('Description for todo ', x), mod(x, 3) = 0, "
+                            + "dateadd('SECOND', x, ?), dateadd('SECOND', x + 60, ?), 0 from system_range(1, ?)",
+                    BASE, BASE, rows);
+            jdbcTemplate.execute("alter sequence todos_seq restart with " + (rows + 1));
+            return;
+        }
+        TodoStore todoStore = context.getBean(TodoStore.class);
+        List<TodoView> todos = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            todos.add(new TodoView(null, "Todo number " + id, "Description for todo " + id, id % 3 == 0,
+                    BASE.plusSeconds(id), BASE.plusSeconds(id + 60), null));
+        }
+        todoStore.insertAll(todos);
+    }
+}
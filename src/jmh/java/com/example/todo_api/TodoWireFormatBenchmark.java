@@ -0,0 +1,108 @@
+package com.example.todo_api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.todo_api.config.SerializationConfig;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Serialize time per wire format and date style, raw and gzipped. Payload sizes for each
+ * combination are logged once during set-up, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoWireFormatBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWireFormatBenchmark.class);
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"text", "epoch-millis"})
+    public String dates;
+
+    @Param({"1000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter listWriter;
+    private List<TodoResponse> todos;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class, SerializationConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("todo.serialization.dates=" + dates)
+                .run();
+        Jackson2ObjectMapperBuilder builder = context.getBean(Jackson2ObjectMapperBuilder.class);
+        ObjectMapper objectMapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TodoResponse.class));
+        todos = BenchmarkData.responses(size);
+
+        byte[] raw = serialize();
+        byte[] gzipped = gzip(raw);
+        log.info("Payload format={} dates={} size={}: {} bytes raw, {} bytes gzipped",
+                format, dates, size, raw.length, gzipped.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return listWriter.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        return gzip(listWriter.writeValueAsBytes(todos));
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo_api;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+
+/**
+ * Strong entity tags derived from {@code updatedAt}, so they can be computed without loading rows.
+ */
+public final class TodoEtags {
+
+    private TodoEtags() {
+    }
+
+    public static String forTodo(Long id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + Long.toHexString(toMicros(updatedAt)) + "\"";
+    }
+
+    public static String forCollection(Boolean completed, TodoCollectionVersion version) {
+        String scope = completed == null ? "all" : completed.toString();
+        long lastUpdated = version.lastUpdatedAt() == null ? 0 : toMicros(version.lastUpdatedAt());
+        return "\"" + scope + "-" + version.count() + "-" + Long.toHexString(lastUpdated) + "\"";
+    }
+
+    /**
+     * The current time at the precision timestamps are stored and tagged at, so the ETag of a write's response
+     * matches the one computed from the stored row afterwards.
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Strong comparison as required for {@code If-Match}: weak tags never match.
+     */
+    public static boolean matchesIfMatch(String ifMatchHeader, String currentEtag) {
+        for (String candidate : ifMatchHeader.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), value);
+    }
+}
@@ -1,99 +1,505 @@
 package com.example.todo_api;
 
 
+import com.example.todo_api.config.CacheConfig;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.BatchItemResult;
+import com.example.todo_api.model.dto.BatchResponse;
+import com.example.todo_api.model.dto.TodoBatchUpdateRequest;
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoPageResponse;
+import com.example.todo_api.model.dto.TodoPatchRequest;
 import com.example.todo_api.model.dto.TodoRequest;
 import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoSearchResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.exception.InvalidRequestException;
+import com.example.todo_api.exception.PreconditionFailedException;
 import com.example.todo_api.exception.ResourceNotFoundException;
 import com.example.todo_api.model.entity.Todo;
-import com.example.todo_api.repository.TodoRepository;
+import com.example.todo_api.search.SearchHits;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.store.TodoStore;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("todo.service")
+@Transactional(readOnly = true)
 public class TodoService {
 
-    private final TodoRepository todoRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    // keep in step with hibernate.jdbc.batch_size
+    private static final int BATCH_FLUSH_SIZE = 50;
+    private static final int EXPORT_FLUSH_INTERVAL = 256;
+    private static final Comparator<TodoView> NEWEST_FIRST =
+            Comparator.comparing(TodoView::createdAt).thenComparing(TodoView::id).reversed();
+
+    private final TodoStore todoStore;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoSearchIndex searchIndex;
+    private final TodoTagIndex tagIndex;
 
     @Autowired
-    public TodoService(TodoRepository todoRepository) {
-        this.todoRepository = todoRepository;
+    public TodoService(TodoStore todoStore, ObjectMapper objectMapper, Validator validator,
+                       ApplicationEventPublisher eventPublisher, TodoSearchIndex searchIndex, TodoTagIndex tagIndex) {
+        this.todoStore = todoStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.tagIndex = tagIndex;
     }
 
-    public List<TodoResponse> getAllTodos() {
-        return todoRepository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<TodoView> getAllTodos() {
+        return todoStore.findAll();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TODOS_BY_STATUS, key = "#completed")
+    public List<TodoView> getTodosByStatus(boolean completed) {
+        return todoStore.findByCompleted(completed);
+    }
+
+    public TodoPageResponse getTodoPage(Boolean completed, Integer limit, String after) {
+        int pageSize = pageSize(limit);
+        // fetch one extra row to learn whether another page exists without a count query
+        List<TodoView> rows = todoStore.findPage(completed, cursor(after), pageSize + 1);
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Todos carrying all (or, with mode {@code any}, at least one) of {@code tags}, optionally
+     * filtered by status, newest first. Matching ids come from {@link TodoTagIndex}; only those
+     * todos are loaded.
+     */
+    public List<TodoView> getTodosByTags(List<String> tags, String mode, Boolean completed) {
+        List<String> wanted = TodoTagIndex.normalize(tags);
+        TodoTagIndex.Mode tagMode = tagMode(mode);
+        return load(tagIndex.find(wanted, tagMode, completed), wanted, tagMode, completed);
+    }
+
+    /**
+     * One page of {@link #getTodosByTags}. The index picks the page's ids, so only those rows are
+     * loaded however many todos match.
+     */
+    public TodoPageResponse getTodoPageByTags(List<String> tags, String mode, Boolean completed, Integer limit,
+                                              String after) {
+        int pageSize = pageSize(limit);
+        List<String> wanted = TodoTagIndex.normalize(tags);
+        TodoTagIndex.Mode tagMode = tagMode(mode);
+        long[] ids = tagIndex.findPage(wanted, tagMode, completed, cursor(after), pageSize + 1);
+        return toPage(load(ids, wanted, tagMode, completed), pageSize);
     }
 
-    public List<TodoResponse> getTodosByStatus(boolean completed) {
-        return todoRepository.findByCompletedOrderByCreatedAtDesc(completed)
-                .stream()
+    /**
+     * Writes every todo as newline-delimited JSON while the result set is still being read.
+     */
+    public void exportTodos(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TodoView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<TodoView> todos = todoStore.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            int written = 0;
+            Iterator<TodoView> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    public TodoSearchResponse searchTodos(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query cannot be empty");
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        SearchHits hits = searchIndex.search(query, pageNumber * pageSize, pageSize);
+        Map<Long, TodoView> todosById = todoStore.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(TodoView::id, Function.identity()));
+        List<TodoResponse> items = hits.ids().stream()
+                .map(todosById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        return new TodoSearchResponse(query, hits.total(), pageNumber, pageSize, items);
     }
 
+    public String getTodoEtag(Long id) {
+        LocalDateTime updatedAt = todoStore.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
+        return TodoEtags.forTodo(id, updatedAt);
+    }
+
+    public String getCollectionEtag(Boolean completed) {
+        TodoCollectionVersion version = todoStore.collectionVersion(completed);
+        return TodoEtags.forCollection(completed, version);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TODOS_BY_ID, key = "#id")
     public TodoResponse getTodoById(Long id) {
-        Todo todo =  todoRepository.findById(id)
+        TodoView todo = todoStore.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
         return mapToResponse(todo);
         }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS_BY_ID, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, key = "#todoRequest.completed"))
+    @Transactional
     public TodoResponse createTodo(TodoRequest todoRequest){
-        Todo todo = new Todo();
-        todo.setTitle(todoRequest.getTitle());
-        todo.setDescription(todoRequest.getDescription());
-        todo.setCompleted(todoRequest.isCompleted());
-        todo.setCreatedAt(LocalDateTime.now());
-        todo.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = TodoEtags.now();
+        TodoView savedTodo = todoStore.insert(new TodoView(null, todoRequest.getTitle(), todoRequest.getDescription(),
+                todoRequest.isCompleted(), now, now, null, TodoTagIndex.normalize(todoRequest.getTags())));
+        TodoResponse response = mapToResponse(savedTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(response));
+        return response;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, allEntries = true)
+    @Transactional
+    public BatchResponse createTodos(List<TodoRequest> requests) {
+        checkBatchSize(requests);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<TodoView> pending = new ArrayList<>(BATCH_FLUSH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(BATCH_FLUSH_SIZE);
+
+        for (int i = 0; i < requests.size(); i++) {
+            TodoRequest request = requests.get(i);
+            Map<String, String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.failure(i, HttpStatus.BAD_REQUEST.value(), null, "Validation error", errors);
+                continue;
+            }
+
+            LocalDateTime now = TodoEtags.now();
+            pending.add(new TodoView(null, request.getTitle(), request.getDescription(), request.isCompleted(),
+                    now, now, null, TodoTagIndex.normalize(request.getTags())));
+            pendingIndexes.add(i);
+
+            if (pending.size() == BATCH_FLUSH_SIZE) {
+                flushCreated(pending, pendingIndexes, results);
+            }
+        }
+        flushCreated(pending, pendingIndexes, results);
+
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TODOS_BY_ID, CacheConfig.TODOS_BY_STATUS}, allEntries = true)
+    @Transactional
+    public BatchResponse updateTodos(List<TodoBatchUpdateRequest> requests) {
+        checkBatchSize(requests);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+
+        for (int start = 0; start < requests.size(); start += BATCH_FLUSH_SIZE) {
+            List<TodoBatchUpdateRequest> chunk = requests.subList(start, Math.min(start + BATCH_FLUSH_SIZE, requests.size()));
+            Map<Long, UnaryOperator<TodoView>> changes = new LinkedHashMap<>();
+            List<Integer> validIndexes = new ArrayList<>(chunk.size());
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = start + offset;
+                TodoBatchUpdateRequest request = chunk.get(offset);
+                Map<String, String> errors = validate(request);
+                if (!errors.isEmpty()) {
+                    results[index] = BatchItemResult.failure(index, HttpStatus.BAD_REQUEST.value(), request.getId(),
+                            "Validation error", errors);
+                    continue;
+                }
+
+                LocalDateTime now = TodoEtags.now();
+                List<String> tags = TodoTagIndex.normalize(request.getTags());
+                UnaryOperator<TodoView> change = todo -> new TodoView(todo.id(), request.getTitle(),
+                        request.getDescription(), request.isCompleted(), todo.createdAt(), now, todo.version(), tags);
+                // a later item for the same id applies on top of the earlier one
+                changes.merge(request.getId(), change, (first, second) -> todo -> second.apply(first.apply(todo)));
+                validIndexes.add(index);
+            }
+
+            Map<Long, TodoStore.Change> applied = todoStore.updateAll(changes);
+            for (int index : validIndexes) {
+                Long id = requests.get(index).getId();
+                TodoStore.Change change = applied.get(id);
+                if (change == null) {
+                    results[index] = BatchItemResult.failure(index, HttpStatus.NOT_FOUND.value(), id,
+                            new ResourceNotFoundException("Todo", "id", id).getMessage(), null);
+                    continue;
+                }
+                TodoResponse response = mapToResponse(change.current());
+                results[index] = BatchItemResult.success(index, HttpStatus.OK.value(), id, response);
+                eventPublisher.publishEvent(TodoChangedEvent.updated(mapToResponse(change.previous()), response));
+            }
+        }
+
+        return BatchResponse.of(Arrays.asList(results));
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TODOS_BY_ID, CacheConfig.TODOS_BY_STATUS}, allEntries = true)
+    @Transactional
+    public BatchResponse deleteTodos(List<Long> ids) {
+        checkBatchSize(ids);
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestException("Batch ids cannot be null");
+        }
+        // previous states go out with the delete events so derived counters know what was removed
+        Map<Long, TodoResponse> existing = new HashMap<>(ids.size());
+        for (TodoView todo : todoStore.deleteAll(ids)) {
+            existing.put(todo.id(), mapToResponse(todo));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        Set<Long> published = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (existing.containsKey(id)) {
+                results.add(BatchItemResult.success(i, HttpStatus.NO_CONTENT.value(), id, null));
+                if (published.add(id)) {
+                    eventPublisher.publishEvent(TodoChangedEvent.deleted(id, existing.get(id)));
+                }
+            } else {
+                results.add(BatchItemResult.failure(i, HttpStatus.NOT_FOUND.value(), id,
+                        new ResourceNotFoundException("Todo", "id", id).getMessage(), null));
+            }
+        }
+        return BatchResponse.of(results);
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS_BY_ID, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, allEntries = true))
+    @Transactional
+    public TodoResponse updateTodo(Long id, TodoRequest todoRequest, String ifMatch) {
+        List<String> tags = TodoTagIndex.normalize(todoRequest.getTags());
+        TodoStore.Change change = todoStore.update(id, todo -> {
+                    checkIfMatch(todo, ifMatch);
+                    return new TodoView(todo.id(), todoRequest.getTitle(), todoRequest.getDescription(),
+                            todoRequest.isCompleted(), todo.createdAt(), TodoEtags.now(), todo.version(), tags);
+                })
+                .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
 
-        Todo savedTodo = todoRepository.save(todo);
-        return mapToResponse(savedTodo);
+        TodoResponse response = mapToResponse(change.current());
+        eventPublisher.publishEvent(TodoChangedEvent.updated(mapToResponse(change.previous()), response));
+        return response;
     }
 
-    public TodoResponse updateTodo(Long id, TodoRequest todoRequest) {
-        Todo existingTodo = todoRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS_BY_ID, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, allEntries = true))
+    @Transactional
+    public TodoResponse patchTodo(Long id, TodoPatchRequest patchRequest, String ifMatch) {
+        TodoStore.Change change = todoStore.update(id, todo -> {
+                    checkIfMatch(todo, ifMatch);
+                    if (patchRequest.getVersion() != null && !patchRequest.getVersion().equals(todo.version())) {
+                        throw new ObjectOptimisticLockingFailureException(Todo.class, id);
+                    }
+                    return new TodoView(todo.id(),
+                            patchRequest.getTitle() != null ? patchRequest.getTitle() : todo.title(),
+                            patchRequest.getDescription() != null ? patchRequest.getDescription() : todo.description(),
+                            patchRequest.getCompleted() != null ? patchRequest.getCompleted() : todo.completed(),
+                            todo.createdAt(), TodoEtags.now(), todo.version(),
+                            patchRequest.getTags() != null ? TodoTagIndex.normalize(patchRequest.getTags()) : todo.tags());
+                })
+                .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
 
-        existingTodo.setTitle(todoRequest.getTitle());
-        existingTodo.setDescription(todoRequest.getDescription());
-        existingTodo.setCompleted(todoRequest.isCompleted());
-        existingTodo.setUpdatedAt(LocalDateTime.now());
-        
-        return mapToResponse(existingTodo);
+        TodoResponse response = mapToResponse(change.current());
+        eventPublisher.publishEvent(TodoChangedEvent.updated(mapToResponse(change.previous()), response));
+        return response;
     }
 
-    public TodoResponse toggleTodoStatus(Long id) {
-        Todo existingTodo = todoRepository.findById(id)
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS_BY_ID, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, allEntries = true))
+    @Transactional
+    public TodoResponse toggleTodoStatus(Long id, String ifMatch) {
+        LocalDateTime now = TodoEtags.now();
+        // a conditional toggle has to see the state it flips, so it goes through the version-checked update
+        TodoStore.Change change = (ifMatch == null
+                ? todoStore.toggle(id, now)
+                : todoStore.update(id, todo -> {
+                    checkIfMatch(todo, ifMatch);
+                    return new TodoView(todo.id(), todo.title(), todo.description(), !todo.completed(),
+                            todo.createdAt(), now, todo.version(), todo.tags());
+                }))
                 .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
-        
-        existingTodo.setCompleted(!existingTodo.isCompleted());
-        existingTodo.setUpdatedAt(LocalDateTime.now());
-        
-        Todo updatedTodo = todoRepository.save(existingTodo);
-        
-        return mapToResponse(updatedTodo);
+
+        TodoResponse response = mapToResponse(change.current());
+        eventPublisher.publishEvent(TodoChangedEvent.toggled(mapToResponse(change.previous()), response));
+        return response;
     }
 
-    public void deleteTodo(Long id) {
-        Todo todo = todoRepository.findById(id)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODOS_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS_BY_STATUS, allEntries = true)})
+    @Transactional
+    public void deleteTodo(Long id, String ifMatch) {
+        TodoView todo = todoStore.delete(id, current -> checkIfMatch(current, ifMatch))
                 .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
-        
-        todoRepository.delete(todo);
+
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(id, mapToResponse(todo)));
     }
     
-    private TodoResponse mapToResponse(Todo todo) {
+    // runs inside the store's write, so the todo cannot change between the comparison and the write
+    private static void checkIfMatch(TodoView todo, String ifMatch) {
+        if (ifMatch == null) {
+            return;
+        }
+        String current = TodoEtags.forTodo(todo.id(), todo.updatedAt());
+        if (!TodoEtags.matchesIfMatch(ifMatch, current)) {
+            throw new PreconditionFailedException("Todo " + todo.id() + " has changed; current ETag is " + current);
+        }
+    }
+
+    private void flushCreated(List<TodoView> pending, List<Integer> pendingIndexes, BatchItemResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<TodoView> saved = todoStore.insertAll(pending);
+        for (int i = 0; i < saved.size(); i++) {
+            TodoView todo = saved.get(i);
+            int index = pendingIndexes.get(i);
+            TodoResponse response = mapToResponse(todo);
+            results[index] = BatchItemResult.success(index, HttpStatus.CREATED.value(), todo.id(), response);
+            eventPublisher.publishEvent(TodoChangedEvent.created(response));
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    private Map<String, String> validate(Object request) {
+        if (request == null) {
+            return Map.of("request", "Item cannot be null");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("Batch cannot be empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Batch cannot exceed " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    // the index is updated after commit, so recheck the loaded state
+    private List<TodoView> load(long[] ids, List<String> tags, TodoTagIndex.Mode mode, Boolean completed) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        List<TodoView> todos = new ArrayList<>(ids.length);
+        for (TodoView todo : todoStore.findAllById(idList)) {
+            if (matchesTags(todo, tags, mode) && (completed == null || todo.completed() == completed)) {
+                todos.add(todo);
+            }
+        }
+        todos.sort(NEWEST_FIRST);
+        return todos;
+    }
+
+    private TodoPageResponse toPage(List<TodoView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TodoView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TodoView last = page.get(page.size() - 1);
+            nextCursor = new TodoCursor(last.createdAt(), last.id()).encode();
+        }
+        return new TodoPageResponse(page, nextCursor, pageSize);
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static TodoCursor cursor(String after) {
+        return after == null || after.isBlank() ? null : TodoCursor.decode(after);
+    }
+
+    private static TodoTagIndex.Mode tagMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return TodoTagIndex.Mode.ALL;
+        }
+        try {
+            return TodoTagIndex.Mode.valueOf(mode.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Tag mode must be all or any");
+        }
+    }
+
+    private static boolean matchesTags(TodoView todo, List<String> tags, TodoTagIndex.Mode mode) {
+        return mode == TodoTagIndex.Mode.ALL
+                ? todo.tags().containsAll(tags)
+                : tags.stream().anyMatch(todo.tags()::contains);
+    }
+
+    TodoResponse mapToResponse(TodoView todo) {
         TodoResponse response = new TodoResponse();
-        response.setId(todo.getId());
-        response.setTitle(todo.getTitle());
-        response.setDescription(todo.getDescription());
-        response.setCompleted(todo.isCompleted());
-        response.setCreatedAt(todo.getCreatedAt());
-        response.setUpdatedAt(todo.getUpdatedAt());
+        response.setId(todo.id());
+        response.setTitle(todo.title());
+        response.setDescription(todo.description());
+        response.setCompleted(todo.completed());
+        response.setCreatedAt(todo.createdAt());
+        response.setUpdatedAt(todo.updatedAt());
+        response.setVersion(todo.version());
+        response.setTags(todo.tags());
         return response;
     }
 }
\ No newline at end of file
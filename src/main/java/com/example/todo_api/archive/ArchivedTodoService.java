@@ -0,0 +1,78 @@
+package com.example.todo_api.archive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todo_api.TodoService;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.model.dto.ArchivedTodoPageResponse;
+import com.example.todo_api.model.dto.ArchivedTodoView;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.repository.ArchivedTodoRepository;
+
+@Service
+@Transactional(readOnly = true)
+public class ArchivedTodoService {
+
+    private final ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    public ArchivedTodoService(ArchivedTodoRepository archivedTodoRepository) {
+        this.archivedTodoRepository = archivedTodoRepository;
+    }
+
+    public ArchivedTodoPageResponse getArchivedPage(Integer limit, String after) {
+        int pageSize = limit == null
+                ? TodoService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TodoService.MAX_PAGE_SIZE));
+        TodoCursor cursor = after == null || after.isBlank() ? null : TodoCursor.decode(after);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<ArchivedTodoView> rows = cursor == null
+                ? archivedTodoRepository.findFirstPage(fetchLimit)
+                : archivedTodoRepository.findPageAfter(cursor.createdAt(), cursor.id(), fetchLimit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ArchivedTodoView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ArchivedTodoView last = page.get(page.size() - 1);
+            nextCursor = new TodoCursor(last.createdAt(), last.id()).encode();
+        }
+        return new ArchivedTodoPageResponse(withTags(page), nextCursor, pageSize);
+    }
+
+    public ArchivedTodoView getArchivedTodo(Long id) {
+        ArchivedTodoView view = archivedTodoRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived todo", "id", id));
+        return withTags(List.of(view)).get(0);
+    }
+
+    private List<ArchivedTodoView> withTags(List<ArchivedTodoView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+        Map<Long, TreeSet<String>> tagsById = new HashMap<>();
+        for (TodoTag row : archivedTodoRepository.findTagsByIds(views.stream().map(ArchivedTodoView::id).toList())) {
+            tagsById.computeIfAbsent(row.todoId(), id -> new TreeSet<>()).add(row.tag());
+        }
+        if (tagsById.isEmpty()) {
+            return views;
+        }
+        List<ArchivedTodoView> tagged = new ArrayList<>(views.size());
+        for (ArchivedTodoView view : views) {
+            TreeSet<String> tags = tagsById.get(view.id());
+            tagged.add(tags == null ? view : view.withTags(new ArrayList<>(tags)));
+        }
+        return tagged;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.todo_api.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.config.CacheConfig;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.ratelimit.LoadShedder;
+
+/**
+ * Moves completed todos whose last update is older than {@code todo.archive.max-age} from
+ * {@code todos} into {@code archived_todos}, so the hot table only holds open and recently
+ * completed work.
+ * <p>
+ * Each run works through at most {@code max-chunks-per-run} chunks of {@code chunk-size} rows, each
+ * in its own short transaction, pausing between chunks and stopping early while the
+ * {@link LoadShedder} reports overload. A row is only deleted if its version is unchanged since it
+ * was read, so a todo reopened mid-chunk stays live. Tags are read before the delete cascades them
+ * away and move along with their todo. Moved todos are published as deletes, which
+ * keeps caches, counters, search and the change feed in step with the hot table.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.archive.enabled", havingValue = "true")
+public class TodoArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoadShedder loadShedder;
+    private final Duration maxAge;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long chunkPauseMillis;
+
+    @Autowired
+    public TodoArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        CacheManager cacheManager, ApplicationEventPublisher eventPublisher, LoadShedder loadShedder,
+                        @Value("${todo.archive.max-age}") Duration maxAge,
+                        @Value("${todo.archive.chunk-size}") int chunkSize,
+                        @Value("${todo.archive.max-chunks-per-run}") int maxChunksPerRun,
+                        @Value("${todo.archive.chunk-pause}") Duration chunkPause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.loadShedder = loadShedder;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.chunkPauseMillis = chunkPause.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.archive.interval}", initialDelayString = "${todo.archive.initial-delay}")
+    public void scheduledRun() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.warn("Archival run failed; it will be retried on the next run", ex);
+        }
+    }
+
+    /**
+     * Runs one throttled pass and returns the number of todos moved.
+     */
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(maxAge);
+        int moved = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            if (loadShedder.isOverloaded()) {
+                log.info("Pausing archival run under load after {} todos", moved);
+                break;
+            }
+            List<ArchivedRow> rows = transactionTemplate.execute(status -> moveChunk(cutoff, now));
+            publish(rows);
+            moved += rows.size();
+            // a short chunk means the backlog is drained, or some rows changed under us and wait for the next run
+            if (rows.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} completed todos last updated before {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private List<ArchivedRow> moveChunk(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<ArchivedRow> candidates = jdbcTemplate.query(
+                "select id, title, description, created_at, updated_at, version from todos "
+                        + "where completed = true and updated_at < ? order by updated_at, id limit ?",
+                (rs, rowNum) -> new ArchivedRow(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getTimestamp("updated_at").toLocalDateTime(),
+                        rs.getLong("version"),
+                        List.of()),
+                Timestamp.valueOf(cutoff), chunkSize);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        // a tag edit bumps the version, so tags read here belong to every row the delete below removes
+        candidates = withTags(candidates);
+
+        List<Object[]> deletes = new ArrayList<>(candidates.size());
+        for (ArchivedRow row : candidates) {
+            deletes.add(new Object[] {row.id(), row.version()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate("delete from todos where id = ? and version = ? and completed = true",
+                deletes);
+
+        List<ArchivedRow> moved = new ArrayList<>(candidates.size());
+        List<Object[]> inserts = new ArrayList<>(candidates.size());
+        List<Object[]> tagInserts = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            // 0 means the todo was edited or reopened after the select; leave it for a later run
+            if (counts[i] != 0) {
+                ArchivedRow row = candidates.get(i);
+                moved.add(row);
+                inserts.add(new Object[] {row.id(), row.title(), row.description(),
+                        Timestamp.valueOf(row.createdAt()), Timestamp.valueOf(row.updatedAt()),
+                        Timestamp.valueOf(archivedAt)});
+                for (String tag : row.tags()) {
+                    tagInserts.add(new Object[] {row.id(), tag});
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into archived_todos "
+                    + "(id, title, description, created_at, completed_at, archived_at) values (?, ?, ?, ?, ?, ?)", inserts);
+        }
+        if (!tagInserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into archived_todo_tags (todo_id, tag) values (?, ?)", tagInserts);
+        }
+        return moved;
+    }
+
+    private List<ArchivedRow> withTags(List<ArchivedRow> rows) {
+        Map<Long, TreeSet<String>> tagsById = new HashMap<>();
+        jdbcTemplate.query("select todo_id, tag from todo_tags where todo_id in ("
+                        + String.join(", ", Collections.nCopies(rows.size(), "?")) + ")",
+                rs -> {
+                    tagsById.computeIfAbsent(rs.getLong("todo_id"), id -> new TreeSet<>()).add(rs.getString("tag"));
+                },
+                rows.stream().map(ArchivedRow::id).toArray());
+        if (tagsById.isEmpty()) {
+            return rows;
+        }
+        List<ArchivedRow> tagged = new ArrayList<>(rows.size());
+        for (ArchivedRow row : rows) {
+            TreeSet<String> tags = tagsById.get(row.id());
+            tagged.add(tags == null ? row : row.withTags(new ArrayList<>(tags)));
+        }
+        return tagged;
+    }
+
+    private void publish(List<ArchivedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Cache byId = cacheManager.getCache(CacheConfig.TODOS_BY_ID);
+        Cache byStatus = cacheManager.getCache(CacheConfig.TODOS_BY_STATUS);
+        if (byStatus != null) {
+            byStatus.clear();
+        }
+        for (ArchivedRow row : rows) {
+            if (byId != null) {
+                byId.evict(row.id());
+            }
+            eventPublisher.publishEvent(TodoChangedEvent.deleted(row.id(), row.toResponse()));
+        }
+    }
+
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ArchivedRow(long id, String title, String description, LocalDateTime createdAt,
+                               LocalDateTime updatedAt, long version, List<String> tags) {
+
+        ArchivedRow withTags(List<String> tags) {
+            return new ArchivedRow(id, title, description, createdAt, updatedAt, version, tags);
+        }
+
+        TodoResponse toResponse() {
+            TodoResponse response = new TodoResponse();
+            response.setId(id);
+            response.setTitle(title);
+            response.setDescription(description);
+            response.setCompleted(true);
+            response.setCreatedAt(createdAt);
+            response.setUpdatedAt(updatedAt);
+            response.setVersion(version);
+            response.setTags(tags);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todo_api.bulkimport;
+
+import java.util.Map;
+
+/**
+ * One line of an import's rejects file. {@code offset} is the byte position of the row in the
+ * source file; line numbers are not known because chunks are read in parallel.
+ */
+public record RejectedRow(long offset, String error, Map<String, String> errors, String row) {
+}
@@ -0,0 +1,645 @@
+package com.example.todo_api.bulkimport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.config.CacheConfig;
+import com.example.todo_api.exception.InvalidRequestException;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.model.dto.ImportProgress;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.stats.TodoStatistics;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk import of todos from CSV ({@code .csv}, with a header row) or NDJSON ({@code .ndjson},
+ * {@code .jsonl}) files under {@code todo.import.directory}.
+ * <p>
+ * The file is split at line boundaries into byte ranges that are memory-mapped and parsed in
+ * parallel. Rows are validated against the {@link TodoRequest} constraints; valid rows are written
+ * with batched JDBC inserts of {@code todo.import.batch-size}, and each batch advances its range's
+ * row in {@code import_checkpoints} in the same transaction. A job is identified by the file's
+ * path, size and modification time, so importing the same file again after a crash or restart
+ * resumes where it stopped, and importing a finished file again is a no-op. Invalid rows go to
+ * {@code <file>.rejects.ndjson}, written after their batch commits.
+ * <p>
+ * Imported rows bypass TodoService: no change events are published, and caches, counters and the
+ * search and tag indexes are refreshed once the job ends instead.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class TodoImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoImporter.class);
+    // matches allocationSize on Todo.id, so ids handed out here never collide with Hibernate's
+    private static final int ID_BLOCK_SIZE = 50;
+    // keeps every mapping well under the 2 GB limit of a MappedByteBuffer
+    private static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+    private static final int HEADER_SCAN_BYTES = 64 * 1024;
+    private static final String INSERT_SQL = "insert into todos (id, title, description, completed, created_at, updated_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TAG_SQL = "insert into todo_tags (todo_id, tag) values (?, ?)";
+    private static final String CHECKPOINT_SQL = "update import_checkpoints set next_offset = ?, imported = imported + ?, "
+            + "rejected = rejected + ?, updated_at = ? where job_id = ? and chunk = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final TodoSearchIndex searchIndex;
+    private final TodoStatistics statistics;
+    private final TodoTagIndex tagIndex;
+    private final Path directory;
+    private final int parallelism;
+    private final int batchSize;
+    private final ExecutorService jobs = Executors.newCachedThreadPool(threads("todo-import-job"));
+    private final ExecutorService workers;
+    private final Map<String, ImportJob> jobsById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TodoImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Validator validator,
+                        ObjectMapper objectMapper, CacheManager cacheManager, TodoSearchIndex searchIndex,
+                        TodoStatistics statistics, TodoTagIndex tagIndex,
+                        @Value("${todo.import.directory}") String directory,
+                        @Value("${todo.import.parallelism}") int parallelism,
+                        @Value("${todo.import.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.tagIndex = tagIndex;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(parallelism, threads("todo-import-worker"));
+    }
+
+    @PreDestroy
+    void stop() {
+        // unfinished jobs resume from their checkpoints on the next start
+        jobs.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Starts importing {@code file} in the background, or returns the job already running for it.
+     */
+    public ImportProgress start(String file) {
+        Path path = resolve(file);
+        String jobId = jobId(path);
+        ImportJob job = jobsById.compute(jobId, (id, existing) ->
+                existing != null && existing.running() ? existing : new ImportJob(id, path, directory.relativize(path)));
+        if (job.claimStart()) {
+            jobs.submit(() -> run(job));
+        }
+        return job.progress();
+    }
+
+    /**
+     * Imports {@code file} on the calling thread, unless a job for it is already running.
+     */
+    public ImportProgress importFile(String file) {
+        Path path = resolve(file);
+        ImportJob job = jobsById.compute(jobId(path), (id, existing) ->
+                existing != null && existing.running() ? existing : new ImportJob(id, path, directory.relativize(path)));
+        if (job.claimStart()) {
+            run(job);
+        }
+        return job.progress();
+    }
+
+    public Optional<ImportProgress> progress(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId)).map(ImportJob::progress);
+    }
+
+    private void run(ImportJob job) {
+        List<ChunkTask> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(job.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Format format = Format.of(job.path);
+            String header = format == Format.CSV ? firstLine(channel) : null;
+            long dataStart = header == null ? 0 : Math.min(size, header.getBytes(StandardCharsets.UTF_8).length + 1L);
+            List<Chunk> chunks = loadOrPlanChunks(job.id, channel, dataStart, size);
+            job.begin(size, dataStart, chunks);
+
+            for (Chunk chunk : chunks) {
+                if (chunk.nextOffset.get() < chunk.end) {
+                    ChunkTask task = new ChunkTask(() -> importChunk(job, channel, chunk, parser(format, header)));
+                    task.future = workers.submit(task);
+                    tasks.add(task);
+                }
+            }
+            for (ChunkTask task : tasks) {
+                task.future.get();
+            }
+            job.finish(null);
+            log.info("Imported {}: {} rows, {} rejected", job.relativePath, job.imported(), job.rejected());
+        } catch (ExecutionException ex) {
+            stopChunks(tasks);
+            job.finish(ex.getCause());
+            log.warn("Import of {} failed; it resumes from its checkpoint when started again", job.relativePath, ex.getCause());
+        } catch (InterruptedException ex) {
+            stopChunks(tasks);
+            Thread.currentThread().interrupt();
+            job.finish(ex);
+        } catch (IOException | RuntimeException ex) {
+            stopChunks(tasks);
+            job.finish(ex);
+            log.warn("Import of {} failed", job.relativePath, ex);
+        } finally {
+            if (job.importedThisRun() > 0) {
+                refreshDerivedState();
+            }
+        }
+    }
+
+    /**
+     * Cancels the chunks still running and waits until none of them can write any more. Until then
+     * the job stays RUNNING, so starting the file again cannot import the same rows twice.
+     */
+    private static void stopChunks(List<ChunkTask> tasks) {
+        for (ChunkTask task : tasks) {
+            task.cancel();
+        }
+        boolean interrupted = false;
+        for (ChunkTask task : tasks) {
+            while (true) {
+                try {
+                    task.finished.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void importChunk(ImportJob job, FileChannel channel, Chunk chunk, TodoRowParser parser) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.end - chunk.start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        IdBlock ids = new IdBlock();
+        List<TodoRequest> valid = new ArrayList<>(batchSize);
+        List<RejectedRow> rejected = new ArrayList<>();
+        int limit = buffer.limit();
+        int position = (int) (chunk.nextOffset.get() - chunk.start);
+        while (position < limit) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            int lineEnd = TodoRowParser.indexOf(buffer, (byte) '\n', position, limit);
+            int contentEnd = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > position) {
+                readRow(buffer, position, contentEnd, chunk.start + position, parser, valid, rejected);
+            }
+            position = lineEnd + 1;
+            if (valid.size() + rejected.size() >= batchSize) {
+                commit(job, chunk, valid, rejected, chunk.start + Math.min(position, limit), ids);
+            }
+        }
+        commit(job, chunk, valid, rejected, chunk.end, ids);
+    }
+
+    private void readRow(ByteBuffer buffer, int start, int end, long offset, TodoRowParser parser,
+                         List<TodoRequest> valid, List<RejectedRow> rejected) {
+        try {
+            TodoRequest request = parser.parse(buffer, start, end);
+            Set<ConstraintViolation<TodoRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                valid.add(request);
+                return;
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (ConstraintViolation<TodoRequest> violation : violations) {
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            rejected.add(new RejectedRow(offset, "Validation error", errors, text(buffer, start, end)));
+        } catch (TodoRowParser.MalformedRowException ex) {
+            rejected.add(new RejectedRow(offset, ex.getMessage(), null, text(buffer, start, end)));
+        }
+    }
+
+    private void commit(ImportJob job, Chunk chunk, List<TodoRequest> valid, List<RejectedRow> rejected,
+                        long nextOffset, IdBlock ids) {
+        if (valid.isEmpty() && rejected.isEmpty() && nextOffset == chunk.nextOffset.get()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> rows = new ArrayList<>(valid.size());
+            List<Object[]> tags = new ArrayList<>();
+            for (TodoRequest request : valid) {
+                long id = ids.next();
+                rows.add(new Object[] {id, request.getTitle(), request.getDescription(), request.isCompleted(),
+                        timestamp, timestamp});
+                for (String tag : TodoTagIndex.normalize(request.getTags())) {
+                    tags.add(new Object[] {id, tag});
+                }
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+            if (!tags.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tags);
+            }
+            jdbcTemplate.update(CHECKPOINT_SQL, nextOffset, valid.size(), rejected.size(), timestamp, job.id, chunk.index);
+        });
+        chunk.nextOffset.set(nextOffset);
+        job.recordBatch(valid.size(), rejected);
+        valid.clear();
+        rejected.clear();
+    }
+
+    private List<Chunk> loadOrPlanChunks(String jobId, FileChannel channel, long dataStart, long size) throws IOException {
+        List<Chunk> chunks = jdbcTemplate.query(
+                "select chunk, chunk_start, chunk_end, next_offset, imported, rejected from import_checkpoints "
+                        + "where job_id = ? order by chunk",
+                (rs, rowNum) -> new Chunk(rs.getInt("chunk"), rs.getLong("chunk_start"), rs.getLong("chunk_end"),
+                        rs.getLong("next_offset"), rs.getLong("imported"), rs.getLong("rejected")),
+                jobId);
+        if (!chunks.isEmpty()) {
+            return chunks;
+        }
+
+        int count = (int) Math.max(parallelism, (size - dataStart + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        long start = dataStart;
+        for (int index = 0; index < count && start < size; index++) {
+            long end = index == count - 1 ? size : lineBoundaryAfter(channel, dataStart + (size - dataStart) * (index + 1) / count, size);
+            if (end > start) {
+                chunks.add(new Chunk(chunks.size(), start, end, start, 0, 0));
+                start = end;
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("insert into import_checkpoints (job_id, chunk, chunk_start, chunk_end, next_offset, "
+                        + "imported, rejected, updated_at) values (?, ?, ?, ?, ?, 0, 0, ?)",
+                chunks.stream().map(chunk -> new Object[] {jobId, chunk.index, chunk.start, chunk.end, chunk.start, now}).toList());
+        return chunks;
+    }
+
+    // the position just after the first line break at or after from
+    private static long lineBoundaryAfter(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static String firstLine(FileChannel channel) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate((int) Math.min(HEADER_SCAN_BYTES, channel.size()));
+        channel.read(window, 0);
+        window.flip();
+        int end = TodoRowParser.indexOf(window, (byte) '\n', 0, window.limit());
+        String line = new String(window.array(), 0, end, StandardCharsets.UTF_8);
+        if (line.isBlank()) {
+            throw new InvalidRequestException("CSV file has no header row");
+        }
+        return line;
+    }
+
+    private TodoRowParser parser(Format format, String header) {
+        if (format == Format.NDJSON) {
+            return TodoRowParser.ndjson(objectMapper.readerFor(TodoRequest.class));
+        }
+        // the header line may end in \r, which is not part of the last column name
+        return TodoRowParser.csv(header.strip());
+    }
+
+    private void refreshDerivedState() {
+        Cache byStatus = cacheManager.getCache(CacheConfig.TODOS_BY_STATUS);
+        if (byStatus != null) {
+            byStatus.clear();
+        }
+        statistics.reconcile();
+        searchIndex.rebuild();
+        tagIndex.rebuild();
+    }
+
+    private Path resolve(String file) {
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory)) {
+            throw new InvalidRequestException("Import files must be inside " + directory);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Import file", "name", file);
+        }
+        Format.of(path);
+        return path;
+    }
+
+    private static String jobId(Path path) {
+        try {
+            String identity = path + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String text(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory threads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new InvalidRequestException("Unsupported import file " + path.getFileName() + "; use .csv, .ndjson or .jsonl");
+        }
+    }
+
+    private static final class Chunk {
+
+        final int index;
+        final long start;
+        final long end;
+        final AtomicLong nextOffset;
+        final long importedBefore;
+        final long rejectedBefore;
+
+        Chunk(int index, long start, long end, long nextOffset, long importedBefore, long rejectedBefore) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+            this.nextOffset = new AtomicLong(nextOffset);
+            this.importedBefore = importedBefore;
+            this.rejectedBefore = rejectedBefore;
+        }
+    }
+
+    /**
+     * One chunk worker. Unlike its {@link Future}, it can be waited for after being cancelled:
+     * {@code finished} opens once the body has returned or is certain never to run.
+     */
+    private static final class ChunkTask implements Runnable {
+
+        private final Runnable body;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile Future<?> future;
+
+        ChunkTask(Runnable body) {
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                body.run();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                finished.countDown();
+            }
+            // interrupts a running body, which stops between batches
+            future.cancel(true);
+        }
+    }
+
+    // ids for one worker, taken from todos_seq a block at a time
+    private final class IdBlock {
+
+        private long nextId;
+        private long limit;
+
+        long next() {
+            if (nextId == limit) {
+                Long low = jdbcTemplate.queryForObject("select next value for todos_seq", Long.class);
+                nextId = low;
+                limit = low + ID_BLOCK_SIZE;
+            }
+            return nextId++;
+        }
+    }
+
+    private final class ImportJob {
+
+        final String id;
+        final Path path;
+        final Path relativePath;
+        final Path rejectsPath;
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong importedThisRun = new AtomicLong();
+        private final AtomicLong rowsThisRun = new AtomicLong();
+        private volatile boolean started;
+        private volatile ImportProgress.State state = ImportProgress.State.RUNNING;
+        private volatile long totalBytes;
+        private volatile long dataStart;
+        private volatile List<Chunk> chunks = List.of();
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startNanos;
+        private volatile String error;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Writer rejects;
+
+        ImportJob(String id, Path path, Path relativePath) {
+            this.id = id;
+            this.path = path;
+            this.relativePath = relativePath;
+            this.rejectsPath = path.resolveSibling(path.getFileName() + ".rejects.ndjson");
+            this.startedAt = LocalDateTime.now();
+            this.startNanos = System.nanoTime();
+        }
+
+        boolean claimStart() {
+            lock.lock();
+            try {
+                if (started) {
+                    return false;
+                }
+                started = true;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean running() {
+            return state == ImportProgress.State.RUNNING;
+        }
+
+        void begin(long size, long dataStart, List<Chunk> chunks) {
+            this.totalBytes = size;
+            this.dataStart = dataStart;
+            this.chunks = chunks;
+            for (Chunk chunk : chunks) {
+                imported.addAndGet(chunk.importedBefore);
+                rejected.addAndGet(chunk.rejectedBefore);
+            }
+        }
+
+        void recordBatch(int importedRows, List<RejectedRow> rejectedRows) {
+            imported.addAndGet(importedRows);
+            importedThisRun.addAndGet(importedRows);
+            rejected.addAndGet(rejectedRows.size());
+            rowsThisRun.addAndGet(importedRows + rejectedRows.size());
+            if (!rejectedRows.isEmpty()) {
+                writeRejects(rejectedRows);
+            }
+        }
+
+        private void writeRejects(List<RejectedRow> rows) {
+            lock.lock();
+            try {
+                if (rejects == null) {
+                    rejects = Files.newBufferedWriter(rejectsPath, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (RejectedRow row : rows) {
+                    rejects.write(objectMapper.writeValueAsString(row));
+                    rejects.write('\n');
+                }
+                rejects.flush();
+            } catch (IOException ex) {
+                log.warn("Cannot write rejected rows to {}", rejectsPath, ex);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void finish(Throwable failure) {
+            lock.lock();
+            try {
+                state = failure == null ? ImportProgress.State.COMPLETED : ImportProgress.State.FAILED;
+                error = failure == null ? null : String.valueOf(failure.getMessage());
+                finishedAt = LocalDateTime.now();
+                if (rejects != null) {
+                    try {
+                        rejects.close();
+                    } catch (IOException ex) {
+                        log.warn("Cannot close {}", rejectsPath, ex);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long imported() {
+            return imported.get();
+        }
+
+        long rejected() {
+            return rejected.get();
+        }
+
+        long importedThisRun() {
+            return importedThisRun.get();
+        }
+
+        ImportProgress progress() {
+            long processed = dataStart;
+            for (Chunk chunk : chunks) {
+                processed += chunk.nextOffset.get() - chunk.start;
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            double rowsPerSecond = seconds > 0 ? rowsThisRun.get() / seconds : 0;
+            return new ImportProgress(id, relativePath.toString(), state, totalBytes, processed, imported.get(),
+                    rejected.get(), Math.round(rowsPerSecond * 10) / 10.0,
+                    Files.exists(rejectsPath) ? directory.relativize(rejectsPath).toString() : null,
+                    startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.todo_api.bulkimport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.example.todo_api.model.dto.TodoRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+/**
+ * Turns one line of an import file into a {@link TodoRequest}, reading straight from the mapped
+ * file: no line is copied into a {@code String} first, and only the bytes of the fields kept end
+ * up on the heap. Not thread-safe; each worker uses its own.
+ */
+abstract class TodoRowParser {
+
+    /**
+     * @param start first byte of the line
+     * @param end   end of the line, excluding the line terminator
+     * @throws MalformedRowException when the line cannot be read as a todo
+     */
+    abstract TodoRequest parse(ByteBuffer buffer, int start, int end);
+
+    static TodoRowParser ndjson(ObjectReader reader) {
+        return new Ndjson(reader);
+    }
+
+    /**
+     * @param header the CSV header line; columns are matched by name, case-insensitively, and
+     *               columns other than title, description, completed and tags (separated by
+     *               semicolons) are ignored
+     */
+    static TodoRowParser csv(String header) {
+        return new Csv(header);
+    }
+
+    static final class MalformedRowException extends RuntimeException {
+        MalformedRowException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Ndjson extends TodoRowParser {
+
+        private final ObjectReader reader;
+
+        Ndjson(ObjectReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        TodoRequest parse(ByteBuffer buffer, int start, int end) {
+            try {
+                return reader.readValue(new ByteBufferBackedInputStream(buffer.slice(start, end - start)));
+            } catch (JsonProcessingException ex) {
+                throw new MalformedRowException("Malformed JSON: " + ex.getOriginalMessage());
+            } catch (IOException ex) {
+                throw new MalformedRowException("Malformed JSON: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 fields, with the restriction that a record is a single line: a quoted field may
+     * contain commas and doubled quotes but not line breaks.
+     */
+    private static final class Csv extends TodoRowParser {
+
+        private final int titleColumn;
+        private final int descriptionColumn;
+        private final int completedColumn;
+        private final int tagsColumn;
+        private byte[] scratch = new byte[256];
+
+        Csv(String header) {
+            String[] columns = header.split(",", -1);
+            int title = -1;
+            int description = -1;
+            int completed = -1;
+            int tags = -1;
+            for (int i = 0; i < columns.length; i++) {
+                switch (columns[i].trim().replace("\"", "").toLowerCase(Locale.ROOT)) {
+                    case "title" -> title = i;
+                    case "description" -> description = i;
+                    case "completed" -> completed = i;
+                    case "tags" -> tags = i;
+                    default -> {
+                    }
+                }
+            }
+            if (title < 0) {
+                throw new IllegalArgumentException("CSV header has no title column: " + header);
+            }
+            this.titleColumn = title;
+            this.descriptionColumn = description;
+            this.completedColumn = completed;
+            this.tagsColumn = tags;
+        }
+
+        @Override
+        TodoRequest parse(ByteBuffer buffer, int start, int end) {
+            TodoRequest request = new TodoRequest();
+            int column = 0;
+            int position = start;
+            while (true) {
+                boolean quoted = position < end && buffer.get(position) == '"';
+                int fieldEnd = quoted ? closingQuote(buffer, position + 1, end) : indexOf(buffer, (byte) ',', position, end);
+                if (column == titleColumn) {
+                    request.setTitle(decode(buffer, position, fieldEnd, quoted));
+                } else if (column == descriptionColumn) {
+                    String description = decode(buffer, position, fieldEnd, quoted);
+                    request.setDescription(description.isEmpty() ? null : description);
+                } else if (column == completedColumn) {
+                    request.setCompleted(parseBoolean(decode(buffer, position, fieldEnd, quoted)));
+                } else if (column == tagsColumn) {
+                    request.setTags(parseTags(decode(buffer, position, fieldEnd, quoted)));
+                }
+
+                int next = quoted ? fieldEnd + 1 : fieldEnd;
+                if (next >= end) {
+                    break;
+                }
+                if (buffer.get(next) != ',') {
+                    throw new MalformedRowException("Unexpected character after closing quote in column " + (column + 1));
+                }
+                position = next + 1;
+                column++;
+            }
+            if (column < titleColumn) {
+                throw new MalformedRowException("Row has " + (column + 1) + " columns; title is column " + (titleColumn + 1));
+            }
+            return request;
+        }
+
+        // index of the quote that closes a field opened before from, skipping doubled quotes
+        private static int closingQuote(ByteBuffer buffer, int from, int end) {
+            int position = from;
+            while (position < end) {
+                if (buffer.get(position) == '"') {
+                    if (position + 1 < end && buffer.get(position + 1) == '"') {
+                        position += 2;
+                        continue;
+                    }
+                    return position;
+                }
+                position++;
+            }
+            throw new MalformedRowException("Unterminated quoted field");
+        }
+
+        private String decode(ByteBuffer buffer, int from, int to, boolean quoted) {
+            if (!quoted) {
+                return decode(buffer, from, to - from);
+            }
+            // drop the surrounding quotes and collapse doubled ones
+            int length = 0;
+            ensureScratch(to - from);
+            for (int position = from + 1; position < to; position++) {
+                byte b = buffer.get(position);
+                scratch[length++] = b;
+                if (b == '"') {
+                    position++;
+                }
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private String decode(ByteBuffer buffer, int from, int length) {
+            ensureScratch(length);
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void ensureScratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+        }
+
+        private static List<String> parseTags(String value) {
+            List<String> tags = new ArrayList<>();
+            for (String tag : value.split(";")) {
+                if (!tag.isBlank()) {
+                    tags.add(tag);
+                }
+            }
+            return tags;
+        }
+
+        private static boolean parseBoolean(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "", "false", "0", "no" -> false;
+                case "true", "1", "yes" -> true;
+                default -> throw new MalformedRowException("completed must be true or false, was: " + value);
+            };
+        }
+    }
+
+    static int indexOf(ByteBuffer buffer, byte target, int from, int end) {
+        for (int position = from; position < end; position++) {
+            if (buffer.get(position) == target) {
+                return position;
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.todo_api.changes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.exception.ServiceUnavailableException;
+import com.example.todo_api.model.dto.TodoChangeMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-sent event feed of committed todo changes behind {@code GET /api/todos/changes}.
+ * <p>
+ * Each change is serialized once, given a sequence number and kept in a fixed-size ring buffer so
+ * a reconnecting client can resume from its {@code Last-Event-ID}. Delivery runs on a small shared
+ * pool: every subscriber has a bounded queue that is drained by at most one pool thread at a
+ * time, so thousands of open streams need no thread of their own. A subscriber whose queue
+ * overflows is disconnected and has to resume, or reload if it fell out of the buffer.
+ * <p>
+ * A send to a client that stopped reading blocks until the socket write times out. A subscriber
+ * whose send has blocked for longer than {@code todo.changes.send-timeout} is disconnected the
+ * same way, and the pool gets an extra thread until that send returns, so stalled clients never
+ * hold up delivery to the others.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, where the epoch changes on every start, so an id from
+ * an earlier run is never mistaken for a position in this one.
+ */
+@Component
+public class ChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+    // tells the client its position is lost and it must reload the list before listening again
+    static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int dispatcherThreads;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Entry[] ring;
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final ReentrantLock dispatcherLock = new ReentrantLock();
+    private int stalledSends;
+
+    @Autowired
+    public ChangeFeed(ObjectMapper objectMapper,
+                      @Value("${todo.changes.buffer-size}") int bufferSize,
+                      @Value("${todo.changes.subscriber-queue}") int queueCapacity,
+                      @Value("${todo.changes.max-subscribers}") int maxSubscribers,
+                      @Value("${todo.changes.dispatcher-threads}") int dispatcherThreads,
+                      @Value("${todo.changes.emitter-timeout}") Duration emitterTimeout,
+                      @Value("${todo.changes.send-timeout}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.ring = new Entry[bufferSize];
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatcherThreads = dispatcherThreads;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // the queue is unbounded, so the pool runs exactly its core size; that is what gets adjusted
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many change feed subscribers", 5);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        lock.lock();
+        try {
+            // backlog and registration under one lock, so nothing published in between is lost
+            List<Entry> backlog = backlog(lastEventId);
+            if (backlog == null || backlog.size() > queueCapacity) {
+                subscriber.queue.add(Entry.reset(epoch + "-" + lastSequence));
+            } else {
+                subscriber.queue.addAll(backlog);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        String type = event.type().name().toLowerCase(Locale.ROOT);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new TodoChangeMessage(type, event.id(), event.current()));
+        } catch (JsonProcessingException ex) {
+            log.error("Cannot serialize change event for todo {}", event.id(), ex);
+            return;
+        }
+
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            Entry entry = new Entry(sequence, epoch + "-" + sequence, type, json);
+            ring[(int) (sequence % ring.length)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(entry)) {
+                    evict(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.changes.heartbeat-interval}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(Entry.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.changes.send-timeout}")
+    public void disconnectStalledSubscribers() {
+        long startedBefore = System.nanoTime() - sendTimeoutNanos;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stallIfSendingSince(startedBefore)) {
+                log.debug("Disconnecting change feed subscriber whose send has blocked for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                // the emitter is completed by the blocked thread once its send returns
+                remove(subscriber);
+                adjustStalledSends(1);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Entries after {@code lastEventId}, or null when that position is no longer in the buffer.
+     */
+    private List<Entry> backlog(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        long oldest = Math.max(1, lastSequence - ring.length + 1);
+        if (after > lastSequence || after < oldest - 1) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>((int) (lastSequence - after));
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            entries.add(ring[(int) (sequence % ring.length)]);
+        }
+        return entries;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && !subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Entry entry;
+            while (!subscriber.closed.get() && (entry = subscriber.queue.poll()) != null) {
+                subscriber.startSend();
+                try {
+                    subscriber.emitter.send(entry.toEvent());
+                } finally {
+                    if (subscriber.finishSend()) {
+                        adjustStalledSends(-1);
+                        subscriber.emitter.complete();
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // the client went away; the emitter's error callback removes it
+            subscriber.closed.set(true);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an entry may have arrived after the last poll but before draining was cleared
+        schedule(subscriber);
+    }
+
+    private void adjustStalledSends(int delta) {
+        dispatcherLock.lock();
+        try {
+            stalledSends += delta;
+            dispatcher.setCorePoolSize(dispatcherThreads + stalledSends);
+        } finally {
+            dispatcherLock.unlock();
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            log.debug("Disconnecting slow change feed subscriber");
+            subscribers.remove(subscriber);
+            subscriberCount.decrementAndGet();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private record Entry(long sequence, String id, String name, String json) {
+
+        static final Entry HEARTBEAT = new Entry(-1, null, null, null);
+
+        static Entry reset(String id) {
+            return new Entry(-1, id, RESET_EVENT, "{}");
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(id).name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Entry> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean sending;
+        private boolean stalled;
+        private long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Entry> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private synchronized void startSend() {
+            sending = true;
+            sendStartedAt = System.nanoTime();
+        }
+
+        /**
+         * @return whether the send was declared stalled while it ran
+         */
+        private synchronized boolean finishSend() {
+            sending = false;
+            return stalled;
+        }
+
+        private synchronized boolean stallIfSendingSince(long startedBefore) {
+            if (!sending || stalled || sendStartedAt - startedBefore > 0) {
+                return false;
+            }
+            stalled = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todo_api.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+// wrap the transaction interceptor so a @CachePut only happens after a successful commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String TODOS_BY_ID = "todosById";
+    public static final String TODOS_BY_STATUS = "todosByStatus";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${todo.cache.by-id.maximum-size}") long byIdMaximumSize,
+                                     @Value("${todo.cache.by-id.ttl}") Duration byIdTtl,
+                                     @Value("${todo.cache.by-status.maximum-rows}") long byStatusMaximumRows,
+                                     @Value("${todo.cache.by-status.ttl}") Duration byStatusTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        cacheManager.registerCustomCache(TODOS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(byIdMaximumSize)
+                .expireAfterWrite(byIdTtl)
+                .recordStats()
+                .build());
+
+        // list entries are weighed by row count so one huge status list cannot blow the heap
+        cacheManager.registerCustomCache(TODOS_BY_STATUS, Caffeine.newBuilder()
+                .maximumWeight(byStatusMaximumRows)
+                .weigher((Object key, Object value) -> Math.max(1, ((List<?>) value).size()))
+                .expireAfterWrite(byStatusTtl)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
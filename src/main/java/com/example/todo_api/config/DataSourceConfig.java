@@ -0,0 +1,66 @@
+package com.example.todo_api.config;
+
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Declares the JDBC pools and JPA transaction manager explicitly. With R2DBC on the classpath Boot
+ * backs off its DataSource auto-configuration, and the R2DBC transaction manager would otherwise
+ * stop the JPA one from being created.
+ * <p>
+ * JPA, Flyway and JdbcTemplate all use a {@link LazyConnectionDataSourceProxy} that borrows a
+ * pooled connection only at the first statement. By then the transaction has marked the
+ * connection read-only or not, so when {@code todo.datasource.replica.jdbc-url} is set
+ * {@code @Transactional(readOnly = true)} work goes to the replica pool and everything else to
+ * the primary. Transactions answered from cache never borrow a connection at all.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("todo.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") Optional<DataSource> replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifPresent(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todo_api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLogging(@Value("${todo.sql.sample-rate}") double sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlStatementInspector(sampleRate));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo_api.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs a random sample of the SQL Hibernate prepares. The logger is routed to an async appender,
+ * so the query path only pays for the dice roll.
+ */
+public class SampledSqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("todo.sql");
+
+    private final double sampleRate;
+
+    public SampledSqlStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("sampled sql: {}", sql);
+        }
+        return sql;
+    }
+}
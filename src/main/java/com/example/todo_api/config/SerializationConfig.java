@@ -0,0 +1,93 @@
+package com.example.todo_api.config;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary alternatives to JSON, picked by {@code Accept}: Smile ({@code application/x-jackson-smile})
+ * and CBOR ({@code application/cbor}). Both are built from Boot's {@link Jackson2ObjectMapperBuilder},
+ * so they share the {@code spring.jackson.*} settings and modules with the JSON converter.
+ */
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.getObject().factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.getObject().factory(new CBORFactory()).build());
+    }
+
+    /**
+     * With {@code todo.serialization.dates=epoch-millis}, timestamps go over the wire as numbers
+     * instead of ISO strings, in every format. Strings are still accepted on input.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "todo.serialization.dates", havingValue = "epoch-millis")
+    public Jackson2ObjectMapperBuilderCustomizer epochMillisDates() {
+        ZoneId zone = ZoneId.systemDefault();
+        return builder -> builder
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer(zone))
+                .deserializerByType(LocalDateTime.class, new EpochMillisDeserializer(zone));
+    }
+
+    static final class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        private final ZoneId zone;
+
+        EpochMillisSerializer(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    static final class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        private final ZoneId zone;
+
+        EpochMillisDeserializer(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), zone);
+            }
+            return LocalDateTime.parse(parser.getValueAsString());
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return LocalDateTime.class;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todo_api.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.example.todo_api.archive.TodoArchiver;
+import com.example.todo_api.bulkimport.RejectedRow;
+import com.example.todo_api.changes.ChangeFeed;
+import com.example.todo_api.idempotency.JdbcIdempotencyStore;
+import com.example.todo_api.model.dto.ArchivedTodoView;
+import com.example.todo_api.model.dto.TodoChangeMessage;
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.search.TodoSearchDocument;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.stats.TodoStatistics;
+import com.example.todo_api.store.MemoryTodoStore;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.example.todo_api.writebehind.JournalEntry;
+import com.example.todo_api.writebehind.WriteBehindBuffer;
+
+/**
+ * Settings for the fast-startup build (see the {@code fast-startup} and {@code native} Maven
+ * profiles and {@code application-fast-startup.properties}).
+ */
+@Configuration
+@ImportRuntimeHints(StartupConfig.TodoRuntimeHints.class)
+public class StartupConfig {
+
+    /**
+     * Beans that do their work from scheduled tasks, start-up callbacks or shutdown hooks rather
+     * than when first called, so they must still be created eagerly when
+     * {@code spring.main.lazy-initialization} is on.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TodoStatistics.class, TodoSearchIndex.class,
+                TodoTagIndex.class, ChangeFeed.class, WriteBehindBuffer.class, TodoArchiver.class,
+                MemoryTodoStore.class, JdbcIdempotencyStore.class);
+    }
+
+    /**
+     * Reflection the native image cannot discover on its own: DTOs built by JPQL
+     * {@code select new} projections, and types serialized with an {@code ObjectMapper} directly
+     * instead of through a controller.
+     */
+    static class TodoRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> projection : new Class<?>[] {TodoView.class, TodoCounts.class, TodoCollectionVersion.class,
+                    TodoSearchDocument.class, ArchivedTodoView.class, TodoTag.class}) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    JournalEntry.class, TodoChangeMessage.class, RejectedRow.class);
+        }
+    }
+}
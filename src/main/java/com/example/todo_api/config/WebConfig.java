@@ -1,5 +1,31 @@
 package com.example.todo_api.config;
 
-public class WebConfig {
-    
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.todo_api.ratelimit.RateLimitInterceptor;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final boolean rateLimitEnabled;
+
+    @Autowired
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor, @Value("${todo.rate-limit.enabled}") boolean rateLimitEnabled) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.rateLimitEnabled = rateLimitEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.todo_api.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo_api.archive.ArchivedTodoService;
+import com.example.todo_api.model.dto.ArchivedTodoPageResponse;
+import com.example.todo_api.model.dto.ArchivedTodoView;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos/archived")
+public class ArchivedTodoController {
+    private final ArchivedTodoService archivedTodoService;
+
+    @Autowired
+    public ArchivedTodoController(ArchivedTodoService archivedTodoService) {
+        this.archivedTodoService = archivedTodoService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ArchivedTodoPageResponse> getArchivedTodos(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.ok(archivedTodoService.getArchivedPage(limit, after));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchivedTodoView> getArchivedTodo(@PathVariable Long id) {
+        return ResponseEntity.ok(archivedTodoService.getArchivedTodo(id));
+    }
+}
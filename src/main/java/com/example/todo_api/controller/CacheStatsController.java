@@ -0,0 +1,49 @@
+package com.example.todo_api.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo_api.model.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                stats.add(new CacheStatsResponse(
+                        name,
+                        nativeCache.estimatedSize(),
+                        cacheStats.hitCount(),
+                        cacheStats.missCount(),
+                        cacheStats.hitRate(),
+                        cacheStats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -2,37 +2,98 @@ package com.example.todo_api.controller;
 
 import java.util.List;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.todo_api.TodoEtags;
 import com.example.todo_api.TodoService;
+import com.example.todo_api.changes.ChangeFeed;
+import com.example.todo_api.idempotency.IdempotencyKeys;
+import com.example.todo_api.model.dto.BatchResponse;
+import com.example.todo_api.model.dto.TodoBatchUpdateRequest;
+import com.example.todo_api.model.dto.TodoPageResponse;
+import com.example.todo_api.model.dto.TodoPatchRequest;
 import com.example.todo_api.model.dto.TodoRequest;
 import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoSearchResponse;
+import com.example.todo_api.model.dto.TodoStatsResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.ratelimit.RateLimitTier;
+import com.example.todo_api.ratelimit.RateLimited;
+import com.example.todo_api.stats.TodoStatistics;
+import com.example.todo_api.writebehind.WriteBehindBuffer;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/todos")
 public class TodoController {
     private final TodoService todoService;
+    private final TodoStatistics todoStatistics;
+    private final ChangeFeed changeFeed;
+    private final ObjectProvider<WriteBehindBuffer> writeBehindBuffer;
+    private final IdempotencyKeys idempotencyKeys;
 
     @Autowired
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoStatistics todoStatistics, ChangeFeed changeFeed,
+                          ObjectProvider<WriteBehindBuffer> writeBehindBuffer, IdempotencyKeys idempotencyKeys) {
         this.todoService = todoService;
+        this.todoStatistics = todoStatistics;
+        this.changeFeed = changeFeed;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.idempotencyKeys = idempotencyKeys;
     }
 
     @GetMapping
-    public ResponseEntity<List<TodoResponse>> getAllTodos(@RequestParam(value = "completed", required = false) Boolean completed) {
-        List<TodoResponse> todos;
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<?> getAllTodos(@RequestParam(value = "completed", required = false) Boolean completed,
+                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                         @RequestParam(value = "after", required = false) String after,
+                                         @RequestParam(value = "tags", required = false) List<String> tags,
+                                         @RequestParam(value = "mode", required = false) String mode,
+                                         WebRequest request) {
+        // any change to a tagged todo also changes the collection it belongs to
+        String etag = todoService.getCollectionEtag(completed);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (tags != null && !tags.isEmpty()) {
+            if (limit != null || after != null) {
+                TodoPageResponse page = todoService.getTodoPageByTags(tags, mode, completed, limit, after);
+                return ResponseEntity.ok().eTag(etag).body(page);
+            }
+            return ResponseEntity.ok().eTag(etag).body(todoService.getTodosByTags(tags, mode, completed));
+        }
+
+        if (limit != null || after != null) {
+            TodoPageResponse page = todoService.getTodoPage(completed, limit, after);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        }
+
+        List<TodoView> todos;
         
         if (completed != null) {
             todos = todoService.getTodosByStatus(completed);
@@ -40,32 +101,160 @@ public class TodoController {
             todos = todoService.getAllTodos();
         }
         
-        return ResponseEntity.ok(todos);
+        return ResponseEntity.ok().eTag(etag).body(todos);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<StreamingResponseBody> exportTodos() {
+        StreamingResponseBody body = todoService::exportTodos;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<TodoSearchResponse> searchTodos(@RequestParam("q") String query,
+                                                          @RequestParam(value = "page", required = false) Integer page,
+                                                          @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(todoService.searchTodos(query, page, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsResponse> getStats() {
+        return ResponseEntity.ok(todoStatistics.snapshot());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id) {
+    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id, WebRequest request) {
+        WriteBehindBuffer writeBehind = writeBehindBuffer.getIfAvailable();
+        if (writeBehind != null) {
+            TodoResponse pending = writeBehind.pendingState(id).orElse(null);
+            if (pending != null) {
+                if (request.checkNotModified(etagOf(pending))) {
+                    return null;
+                }
+                return ResponseEntity.ok().eTag(etagOf(pending)).body(pending);
+            }
+        }
+
+        // answer revalidation from updatedAt alone, without loading or serializing the todo
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(todoService.getTodoEtag(id))) {
+            return null;
+        }
+
         TodoResponse todo = todoService.getTodoById(id);
-        return ResponseEntity.ok(todo);
+        return ResponseEntity.ok().eTag(etagOf(todo)).body(todo);
     }
 
     @PostMapping
-    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody TodoRequest todoRequest) {
-        TodoResponse createdTodo = todoService.createTodo(todoRequest);
-        return new ResponseEntity<>(createdTodo, HttpStatus.CREATED);
+    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody TodoRequest todoRequest, HttpServletRequest request) {
+        return idempotencyKeys.execute(request, todoRequest, TodoResponse.class, () -> {
+            WriteBehindBuffer writeBehind = writeBehindBuffer.getIfAvailable();
+            if (writeBehind != null) {
+                TodoResponse acceptedTodo = writeBehind.enqueueCreate(todoRequest);
+                return ResponseEntity.accepted().eTag(etagOf(acceptedTodo)).body(acceptedTodo);
+            }
+
+            TodoResponse createdTodo = todoService.createTodo(todoRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(etagOf(createdTodo)).body(createdTodo);
+        });
     }
 
-    @PostMapping("/{id}")
-    public ResponseEntity<TodoResponse> updateTodo(@PathVariable Long id, @Valid @RequestBody TodoRequest todoRequest) {
-        TodoResponse updatedTodo = todoService.updateTodo(id, todoRequest);
-        return ResponseEntity.ok(updatedTodo);
+    @PostMapping("/batch")
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<BatchResponse> createTodos(@RequestBody List<TodoRequest> todoRequests, HttpServletRequest request) {
+        return idempotencyKeys.execute(request, todoRequests, BatchResponse.class,
+                () -> ResponseEntity.ok(todoService.createTodos(todoRequests)));
+    }
+
+    @PutMapping("/batch")
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<BatchResponse> updateTodos(@RequestBody List<TodoBatchUpdateRequest> todoRequests,
+                                                     HttpServletRequest request) {
+        return idempotencyKeys.execute(request, todoRequests, BatchResponse.class, () -> {
+            flushPending(todoRequests.stream().map(TodoBatchUpdateRequest::getId).toList());
+            return ResponseEntity.ok(todoService.updateTodos(todoRequests));
+        });
+    }
+
+    @DeleteMapping("/batch")
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<BatchResponse> deleteTodos(@RequestBody List<Long> ids) {
+        flushPending(ids);
+        return ResponseEntity.ok(todoService.deleteTodos(ids));
+    }
+
+    @RequestMapping(value = "/{id}", method = {RequestMethod.POST, RequestMethod.PUT})
+    public ResponseEntity<TodoResponse> updateTodo(@PathVariable Long id, @Valid @RequestBody TodoRequest todoRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   HttpServletRequest request) {
+        return idempotencyKeys.execute(request, todoRequest, TodoResponse.class, () -> {
+            flushPending(id);
+            TodoResponse updatedTodo = todoService.updateTodo(id, todoRequest, ifMatch);
+            return ResponseEntity.ok().eTag(etagOf(updatedTodo)).body(updatedTodo);
+        });
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<TodoResponse> patchTodo(@PathVariable Long id, @Valid @RequestBody TodoPatchRequest patchRequest,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  HttpServletRequest request) {
+        return idempotencyKeys.execute(request, patchRequest, TodoResponse.class, () -> {
+            flushPending(id);
+            TodoResponse patchedTodo = todoService.patchTodo(id, patchRequest, ifMatch);
+            return ResponseEntity.ok().eTag(etagOf(patchedTodo)).body(patchedTodo);
+        });
+    }
+
+    @PatchMapping("/{id}/toggle")
+    public ResponseEntity<TodoResponse> toggleTodoStatus(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         HttpServletRequest request) {
+        // a retried toggle would flip the todo back, so it is keyed like the writes with a body
+        return idempotencyKeys.execute(request, null, TodoResponse.class, () -> {
+            WriteBehindBuffer writeBehind = writeBehindBuffer.getIfAvailable();
+            // a conditional toggle is checked and applied in one store write, so it bypasses the buffer
+            if (writeBehind != null && ifMatch == null) {
+                TodoResponse acceptedTodo = writeBehind.enqueueToggle(id);
+                return ResponseEntity.accepted().eTag(etagOf(acceptedTodo)).body(acceptedTodo);
+            }
+            flushPending(id);
+            TodoResponse toggledTodo = todoService.toggleTodoStatus(id, ifMatch);
+            return ResponseEntity.ok().eTag(etagOf(toggledTodo)).body(toggledTodo);
+        });
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delteTodo(@PathVariable Long id) {
-        todoService.deleteTodo(id);
+    public ResponseEntity<Void> delteTodo(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        flushPending(id);
+        todoService.deleteTodo(id, ifMatch);
         return ResponseEntity.noContent().build();
     }
-    
-    
+
+    private void flushPending(Long id) {
+        WriteBehindBuffer writeBehind = writeBehindBuffer.getIfAvailable();
+        if (writeBehind != null) {
+            writeBehind.flushIfPending(id);
+        }
+    }
+
+    private void flushPending(List<Long> ids) {
+        WriteBehindBuffer writeBehind = writeBehindBuffer.getIfAvailable();
+        if (writeBehind != null) {
+            writeBehind.flushIfPending(ids);
+        }
+    }
+
+    private static String etagOf(TodoResponse todo) {
+        return TodoEtags.forTodo(todo.getId(), todo.getUpdatedAt());
+    }
 }
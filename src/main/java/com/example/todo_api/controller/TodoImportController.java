@@ -0,0 +1,52 @@
+package com.example.todo_api.controller;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo_api.bulkimport.TodoImporter;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.model.dto.ImportProgress;
+import com.example.todo_api.model.dto.ImportRequest;
+import com.example.todo_api.ratelimit.RateLimitTier;
+import com.example.todo_api.ratelimit.RateLimited;
+
+import jakarta.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.store.engine", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/todos/import")
+public class TodoImportController {
+    private final TodoImporter todoImporter;
+
+    @Autowired
+    public TodoImportController(TodoImporter todoImporter) {
+        this.todoImporter = todoImporter;
+    }
+
+    @PostMapping
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<ImportProgress> startImport(@Valid @RequestBody ImportRequest importRequest) {
+        ImportProgress progress = todoImporter.start(importRequest.getFile());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/todos/import/" + progress.jobId()))
+                .body(progress);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportProgress> getImport(@PathVariable String jobId) {
+        return todoImporter.progress(jobId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Import", "id", jobId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todo_api.event;
+
+import com.example.todo_api.model.dto.TodoResponse;
+
+/**
+ * Published by {@code TodoService} for every mutation. {@code previous} is null for creates and
+ * {@code current} is null for deletes.
+ */
+public record TodoChangedEvent(ChangeType type, Long id, TodoResponse previous, TodoResponse current) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        TOGGLED,
+        DELETED
+    }
+
+    public static TodoChangedEvent created(TodoResponse current) {
+        return new TodoChangedEvent(ChangeType.CREATED, current.getId(), null, current);
+    }
+
+    public static TodoChangedEvent updated(TodoResponse previous, TodoResponse current) {
+        return new TodoChangedEvent(ChangeType.UPDATED, current.getId(), previous, current);
+    }
+
+    public static TodoChangedEvent toggled(TodoResponse previous, TodoResponse current) {
+        return new TodoChangedEvent(ChangeType.TOGGLED, current.getId(), previous, current);
+    }
+
+    public static TodoChangedEvent deleted(Long id, TodoResponse previous) {
+        return new TodoChangedEvent(ChangeType.DELETED, id, previous, null);
+    }
+}
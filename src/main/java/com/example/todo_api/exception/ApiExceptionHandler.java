@@ -1,16 +1,22 @@
 package com.example.todo_api.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import jakarta.persistence.OptimisticLockException;
+
 @ControllerAdvice
 public class ApiExceptionHandler {
 
@@ -25,6 +31,104 @@ public class ApiExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
     
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequestException(InvalidRequestException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.PRECONDITION_FAILED,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ApiError> handleIdempotencyConflictException(IdempotencyConflictException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Object identifier = ex instanceof ObjectOptimisticLockingFailureException objectFailure
+                ? objectFailure.getIdentifier()
+                : null;
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT,
+                identifier != null
+                        ? String.format("Todo %s was modified concurrently; reload and retry", identifier)
+                        : "Todo was modified concurrently; reload and retry",
+                LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
+    // a version check that failed outside Spring's exception translation
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockException(OptimisticLockException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.CONFLICT,
+                "Todo was modified concurrently; reload and retry",
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+    
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ApiError apiError = new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -45,6 +149,21 @@ public class ApiExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        
+        ApiError apiError = new ApiError(
+                HttpStatus.BAD_REQUEST,
+                "Validation error",
+                LocalDateTime.now(),
+                errors
+        );
+        
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGlobalException(Exception ex) {
         ApiError apiError = new ApiError(
@@ -0,0 +1,7 @@
+package com.example.todo_api.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.todo_api.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
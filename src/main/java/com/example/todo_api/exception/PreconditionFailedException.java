@@ -0,0 +1,7 @@
+package com.example.todo_api.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.todo_api.idempotency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.example.todo_api.exception.IdempotencyConflictException;
+import com.example.todo_api.exception.IdempotencyKeyReusedException;
+import com.example.todo_api.exception.InvalidRequestException;
+import com.example.todo_api.ratelimit.ClientIdentity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * {@code Idempotency-Key} support for write endpoints.
+ * <p>
+ * The first request with a key runs; its successful response is kept for
+ * {@code todo.idempotency.ttl} in a bounded in-memory cache (and in {@link JdbcIdempotencyStore}
+ * when enabled) and replayed to every retry without calling the service again. Duplicates that
+ * arrive while the first is still running wait for its result instead of running themselves.
+ * Keys are scoped per client (as identified for rate limiting) and bound to the request they were
+ * first used with: the same key with another operation or payload is refused with 422. Failed
+ * requests are not remembered, so they can be retried with the same key.
+ */
+@Component
+public class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final JdbcIdempotencyStore jdbcStore;
+    private final ClientIdentity clientIdentity;
+    private final Duration waitTimeout;
+    private final Cache<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyKeys(ObjectMapper objectMapper, ObjectProvider<JdbcIdempotencyStore> jdbcStore,
+                           ClientIdentity clientIdentity,
+                           @Value("${todo.idempotency.maximum-size}") long maximumSize,
+                           @Value("${todo.idempotency.ttl}") Duration ttl,
+                           @Value("${todo.idempotency.wait-timeout}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.jdbcStore = jdbcStore.getIfAvailable();
+        this.clientIdentity = clientIdentity;
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per idempotency key, or directly when the request carries none.
+     *
+     * @param payload   the request body, part of what the key is bound to
+     * @param bodyType  type of the response body, to rebuild it on replay
+     */
+    public <T> ResponseEntity<T> execute(HttpServletRequest request, Object payload, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        String key = request.getHeader(HEADER);
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = clientIdentity.clientKey(request) + " " + key;
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + hash(payload);
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, entry);
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint(), fingerprint, key);
+            return replay(await(existing.response(), key), bodyType);
+        }
+
+        if (jdbcStore != null) {
+            Optional<IdempotentResponse> stored = claimOrFind(scopedKey, fingerprint, entry, key);
+            if (stored.isPresent()) {
+                return replay(stored.get(), bodyType);
+            }
+        }
+
+        try {
+            ResponseEntity<T> result = action.get();
+            IdempotentResponse response = capture(fingerprint, result);
+            if (response == null) {
+                forget(scopedKey, entry);
+                entry.response().completeExceptionally(
+                        new IdempotencyConflictException("Request with " + HEADER + " " + key + " did not succeed; retry it"));
+                return result;
+            }
+            if (jdbcStore != null) {
+                jdbcStore.complete(scopedKey, response);
+            }
+            entry.response().complete(response);
+            return result;
+        } catch (RuntimeException ex) {
+            forget(scopedKey, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    // another instance may have finished (replay it) or still be running the key (conflict)
+    private Optional<IdempotentResponse> claimOrFind(String scopedKey, String fingerprint, Entry entry, String key) {
+        Optional<IdempotentResponse> stored = jdbcStore.find(scopedKey);
+        if (stored.isEmpty() && !jdbcStore.claim(scopedKey, fingerprint)) {
+            stored = jdbcStore.find(scopedKey);
+            if (stored.isEmpty()) {
+                entries.asMap().remove(scopedKey, entry);
+                entry.response().completeExceptionally(inProgress(key));
+                throw inProgress(key);
+            }
+        }
+        stored.ifPresent(response -> {
+            if (!response.fingerprint().equals(fingerprint)) {
+                entries.asMap().remove(scopedKey, entry);
+                entry.response().completeExceptionally(reused(key));
+                throw reused(key);
+            }
+            entry.response().complete(response);
+        });
+        return stored;
+    }
+
+    private void forget(String scopedKey, Entry entry) {
+        entries.asMap().remove(scopedKey, entry);
+        if (jdbcStore != null) {
+            jdbcStore.release(scopedKey);
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> response, String key) {
+        try {
+            return response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        } catch (ExecutionException ex) {
+            // the first request failed; its retries see the same failure
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponse response, Class<T> bodyType) {
+        try {
+            T body = objectMapper.readValue(response.body(), bodyType);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status())
+                    .header(REPLAYED_HEADER, "true");
+            if (response.etag() != null) {
+                builder.eTag(response.etag());
+            }
+            return builder.body(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // null for anything but a 2xx, which is not worth replaying
+    private IdempotentResponse capture(String fingerprint, ResponseEntity<?> result) {
+        HttpStatusCode status = result.getStatusCode();
+        if (!status.is2xxSuccessful()) {
+            return null;
+        }
+        try {
+            return new IdempotentResponse(fingerprint, status.value(), result.getHeaders().getETag(),
+                    objectMapper.writeValueAsBytes(result.getBody()));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String hash(Object payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(payload));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void checkFingerprint(String original, String current, String key) {
+        if (!original.equals(current)) {
+            throw reused(key);
+        }
+    }
+
+    private static IdempotencyKeyReusedException reused(String key) {
+        return new IdempotencyKeyReusedException(HEADER + " " + key + " was already used for a different request");
+    }
+
+    private static IdempotencyConflictException inProgress(String key) {
+        return new IdempotencyConflictException("A request with " + HEADER + " " + key + " is still being processed");
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<IdempotentResponse> response) {
+    }
+}
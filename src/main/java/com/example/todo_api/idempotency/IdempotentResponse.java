@@ -0,0 +1,9 @@
+package com.example.todo_api.idempotency;
+
+/**
+ * First successful response to a request sent with an {@code Idempotency-Key}, as replayed to
+ * its retries. {@code fingerprint} identifies the request (operation plus payload hash) so a key
+ * reused for a different request is refused.
+ */
+public record IdempotentResponse(String fingerprint, int status, String etag, byte[] body) {
+}
@@ -0,0 +1,106 @@
+package com.example.todo_api.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional second tier behind {@link IdempotencyKeys}: finished responses in the
+ * {@code idempotency_keys} table, so retries are still answered after a restart or when they land
+ * on another instance. A key is claimed with an insert before the request runs, which makes the
+ * primary key the cross-instance lock; rows older than {@code todo.idempotency.ttl} are ignored
+ * and swept periodically. The lock is a lease: a claim neither completed nor released within
+ * {@code todo.idempotency.wait-timeout} is taken to belong to a request that died with its instance,
+ * and the next claim takes the key over instead of being refused until the row expires.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.idempotency.jdbc.enabled", havingValue = "true")
+public class JdbcIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+    private static final String SELECT_SQL = "select fingerprint, status, etag, body from idempotency_keys "
+            + "where idempotency_key = ? and status is not null and created_at >= ?";
+    private static final String CLAIM_SQL = "insert into idempotency_keys "
+            + "(idempotency_key, fingerprint, created_at, claimed_at) values (?, ?, ?, ?)";
+    private static final String TAKE_OVER_SQL = "update idempotency_keys set fingerprint = ?, created_at = ?, "
+            + "claimed_at = ? where idempotency_key = ? and status is null and claimed_at < ?";
+    private static final String COMPLETE_SQL = "update idempotency_keys set status = ?, etag = ?, body = ? "
+            + "where idempotency_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+
+    @Autowired
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, @Value("${todo.idempotency.ttl}") Duration ttl,
+                                @Value("${todo.idempotency.wait-timeout}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    public Optional<IdempotentResponse> find(String key) {
+        List<IdempotentResponse> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new IdempotentResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("etag"), rs.getBytes("body")),
+                key, Timestamp.valueOf(oldestLive()));
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * @return false when another request holds the key, finished or still within its lease
+     */
+    public boolean claim(String key, String fingerprint) {
+        // an expired row must not block the key until the next sweep
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and created_at < ?",
+                key, Timestamp.valueOf(oldestLive()));
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp claimedAt = Timestamp.valueOf(now);
+        try {
+            jdbcTemplate.update(CLAIM_SQL, key, fingerprint, claimedAt, claimedAt);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // only one of several claimers can move an abandoned row's lease forward
+            boolean takenOver = jdbcTemplate.update(TAKE_OVER_SQL, fingerprint, claimedAt, claimedAt, key,
+                    Timestamp.valueOf(now.minus(lease))) == 1;
+            if (takenOver) {
+                log.warn("Took over idempotency key {} abandoned for over {}", key, lease);
+            }
+            return takenOver;
+        }
+    }
+
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update(COMPLETE_SQL, response.status(), response.etag(), response.body(), key);
+    }
+
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and status is null", key);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.idempotency.jdbc.purge-interval}",
+            initialDelayString = "${todo.idempotency.jdbc.purge-interval}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("delete from idempotency_keys where created_at < ?",
+                Timestamp.valueOf(oldestLive()));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private LocalDateTime oldestLive() {
+        return LocalDateTime.now().minus(ttl);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todo_api.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTodoPageResponse {
+    private List<ArchivedTodoView> items;
+    private String nextCursor;
+    private int limit;
+}
@@ -0,0 +1,22 @@
+package com.example.todo_api.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ArchivedTodoView(Long id, String title, String description, LocalDateTime createdAt,
+                               LocalDateTime completedAt, LocalDateTime archivedAt, List<String> tags) {
+
+    public ArchivedTodoView {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    // the projection constructor: tags live in their own table and are filled in afterwards
+    public ArchivedTodoView(Long id, String title, String description, LocalDateTime createdAt,
+                            LocalDateTime completedAt, LocalDateTime archivedAt) {
+        this(id, title, description, createdAt, completedAt, archivedAt, List.of());
+    }
+
+    public ArchivedTodoView withTags(List<String> tags) {
+        return new ArchivedTodoView(id, title, description, createdAt, completedAt, archivedAt, tags);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo_api.model.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private Long id;
+    private TodoResponse todo;
+    private String message;
+    private Map<String, String> errors;
+
+    public static BatchItemResult success(int index, int status, Long id, TodoResponse todo) {
+        return new BatchItemResult(index, status, id, todo, null, null);
+    }
+
+    public static BatchItemResult failure(int index, int status, Long id, String message, Map<String, String> errors) {
+        return new BatchItemResult(index, status, id, null, message, errors);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.todo_api.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(result -> result.getStatus() < 400).count();
+        return new BatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.todo_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
@@ -0,0 +1,16 @@
+package com.example.todo_api.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a bulk import; {@code rowsPerSecond} covers rows read (imported plus rejected) since
+ * the current run started, so a resumed job does not count the rows of earlier runs.
+ */
+public record ImportProgress(String jobId, String file, State state, long totalBytes, long processedBytes,
+                             long imported, long rejected, double rowsPerSecond, String rejectsFile,
+                             LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
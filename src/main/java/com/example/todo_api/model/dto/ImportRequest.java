@@ -0,0 +1,12 @@
+package com.example.todo_api.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ImportRequest {
+
+    // relative to todo.import.directory
+    @NotBlank(message = "File is required")
+    private String file;
+}
@@ -0,0 +1,13 @@
+package com.example.todo_api.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TodoBatchUpdateRequest extends TodoRequest {
+
+    @NotNull(message = "Id is required")
+    private Long id;
+}
@@ -0,0 +1,7 @@
+package com.example.todo_api.model.dto;
+
+/**
+ * Payload of a change feed event. {@code todo} is the state after the change, or null for deletes.
+ */
+public record TodoChangeMessage(String type, Long id, TodoResponse todo) {
+}
@@ -0,0 +1,6 @@
+package com.example.todo_api.model.dto;
+
+import java.time.LocalDateTime;
+
+public record TodoCollectionVersion(Long count, LocalDateTime lastUpdatedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.todo_api.model.dto;
+
+public record TodoCounts(long total, long completed, long createdToday) {
+
+    // sum() over an empty table is null
+    public TodoCounts(Long total, Long completed, Long createdToday) {
+        this(total == null ? 0 : total, completed == null ? 0 : completed, createdToday == null ? 0 : createdToday);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todo_api.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.todo_api.exception.InvalidRequestException;
+
+/**
+ * Opaque keyset position on (createdAt, id), encoded as URL-safe base64.
+ */
+public record TodoCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Malformed cursor: " + value);
+            }
+            return new TodoCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestException("Malformed cursor: " + value);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo_api.model.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Partial update: only non-null fields are applied.
+ */
+@Data
+public class TodoPatchRequest {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title cannot be blank")
+    @Size(min = 3, max = 100, message = "Title must be between 3 and 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    private Boolean completed;
+
+    // replaces all tags; an empty list removes them
+    @Size(max = 20, message = "A todo cannot have more than 20 tags")
+    private List<@NotBlank(message = "Tags cannot be blank") @Size(max = 50, message = "Tags cannot exceed 50 characters") String> tags;
+
+    private Long version;
+}
@@ -1,5 +1,8 @@
 package com.example.todo_api.model.dto;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -15,4 +18,7 @@ public class TodoRequest {
     private String description;
 
     private boolean completed = false;
+
+    @Size(max = 20, message = "A todo cannot have more than 20 tags")
+    private List<@NotBlank(message = "Tags cannot be blank") @Size(max = 50, message = "Tags cannot exceed 50 characters") String> tags = new ArrayList<>();
 }
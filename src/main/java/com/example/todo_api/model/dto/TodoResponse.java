@@ -1,6 +1,7 @@
 package com.example.todo_api.model.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import lombok.Data;
 
@@ -12,4 +13,6 @@ public class TodoResponse {
     private boolean completed;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+    private List<String> tags = List.of();
 }
@@ -0,0 +1,18 @@
+package com.example.todo_api.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoSearchResponse {
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private List<TodoResponse> items;
+}
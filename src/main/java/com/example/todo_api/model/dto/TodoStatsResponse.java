@@ -0,0 +1,18 @@
+package com.example.todo_api.model.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatsResponse {
+    private long total;
+    private long open;
+    private long completed;
+    private long createdToday;
+    private LocalDateTime lastReconciledAt;
+}
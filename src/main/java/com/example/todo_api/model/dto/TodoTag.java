@@ -0,0 +1,8 @@
+package com.example.todo_api.model.dto;
+
+/**
+ * One row of {@code todo_tags} or {@code archived_todo_tags}, selected to fill in the tags of
+ * {@link TodoView} and {@link ArchivedTodoView} projections.
+ */
+public record TodoTag(Long todoId, String tag) {
+}
@@ -0,0 +1,28 @@
+package com.example.todo_api.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only row for list responses, selected straight from the table by a JPQL constructor
+ * expression. Serializes to the same JSON as {@link TodoResponse}, but never passes through a
+ * managed entity, so Hibernate keeps no persistence-context entry or dirty-checking snapshot for it.
+ * {@code tags} are normalized (see {@code TodoTagIndex.normalize}) and never null.
+ */
+public record TodoView(Long id, String title, String description, boolean completed,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, Long version, List<String> tags) {
+
+    public TodoView {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    // the projection constructor: tags live in their own table and are filled in afterwards
+    public TodoView(Long id, String title, String description, boolean completed,
+                    LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, title, description, completed, createdAt, updatedAt, version, List.of());
+    }
+
+    public TodoView withTags(List<String> tags) {
+        return new TodoView(id, title, description, completed, createdAt, updatedAt, version, tags);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todo_api.model.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A completed todo moved out of {@code todos} by the archival job. Rows are written with plain
+ * JDBC and only ever read through JPA.
+ */
+@Entity
+@Table(name = "archived_todos", indexes = {
+        @Index(name = "idx_archived_todos_created_at_id", columnList = "created_at, id")
+})
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private LocalDateTime createdAt;
+
+    // updatedAt of the todo when it was archived; completed todos are not edited further
+    private LocalDateTime completedAt;
+
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_todo_tags", joinColumns = @JoinColumn(name = "todo_id"))
+    @Column(name = "tag", length = 50)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> tags = new HashSet<>();
+}
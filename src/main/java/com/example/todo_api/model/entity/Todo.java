@@ -1,27 +1,47 @@
 package com.example.todo_api.model.entity;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "todos")
+@DynamicUpdate
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_todos_completed_created_at_id", columnList = "completed, created_at, id"),
+        @Index(name = "idx_todos_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_todos_completed_updated_at", columnList = "completed, updated_at")
+})
 @NoArgsConstructor
 @Data
 @AllArgsConstructor
 public class Todo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -35,4 +55,16 @@ public class Todo {
     
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // loaded for up to 100 todos of the persistence context at once when first touched
+    @ElementCollection
+    @CollectionTable(name = "todo_tags", joinColumns = @JoinColumn(name = "todo_id"))
+    @Column(name = "tag", length = 50)
+    @BatchSize(size = 100)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> tags = new HashSet<>();
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.todo_api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the client behind a request for rate limiting and idempotency scoping.
+ * <p>
+ * {@code X-API-Key} is only trusted when it is one of {@code todo.rate-limit.api-keys}; any other
+ * value is ignored and the client is identified by its remote address, so inventing keys neither
+ * buys a fresh budget nor fills the per-client caches. Known keys are held and reported as
+ * SHA-256 hashes, never in the clear.
+ */
+@Component
+public class ClientIdentity {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> knownKeyHashes;
+
+    @Autowired
+    public ClientIdentity(@Value("${todo.rate-limit.api-keys:}") Collection<String> apiKeys) {
+        this.knownKeyHashes = apiKeys.stream()
+                .map(String::strip)
+                .filter(key -> !key.isEmpty())
+                .map(ClientIdentity::hash)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !knownKeyHashes.isEmpty()) {
+            // hashing first keeps the set lookup from leaking how much of a key matched
+            String keyHash = hash(apiKey.strip());
+            if (knownKeyHashes.contains(keyHash)) {
+                return "key:" + keyHash;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String hash(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
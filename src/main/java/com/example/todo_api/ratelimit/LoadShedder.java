@@ -0,0 +1,74 @@
+package com.example.todo_api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.todo_api.exception.ServiceUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Rejects work while the service is overloaded, judged by an exponentially weighted moving
+ * average of request latency and by the number of threads waiting for a pooled connection.
+ * Crossing either threshold sheds {@link RateLimitTier#EXPENSIVE} requests; crossing twice the
+ * threshold sheds everything.
+ */
+@Component
+public class LoadShedder {
+
+    private static final double ALPHA = 0.05;
+
+    private final HikariDataSource dataSource;
+    private final long latencyThresholdNanos;
+    private final int pendingThreshold;
+    // EWMA of latency in nanos, stored as double bits so it can be updated with CAS
+    private final AtomicLong latencyEwma = new AtomicLong(Double.doubleToLongBits(0));
+
+    @Autowired
+    public LoadShedder(@Qualifier("primaryDataSource") HikariDataSource dataSource,
+                       @Value("${todo.load-shedding.latency-threshold}") Duration latencyThreshold,
+                       @Value("${todo.load-shedding.pending-connections-threshold}") int pendingThreshold) {
+        this.dataSource = dataSource;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.pendingThreshold = pendingThreshold;
+    }
+
+    public void check(RateLimitTier tier) {
+        double latency = Double.longBitsToDouble(latencyEwma.get());
+        int pending = pendingConnections();
+        boolean critical = latency > 2.0 * latencyThresholdNanos || pending > 2 * pendingThreshold;
+        boolean overloaded = latency > latencyThresholdNanos || pending > pendingThreshold;
+        if (critical || (overloaded && tier == RateLimitTier.EXPENSIVE)) {
+            throw new ServiceUnavailableException("Server is overloaded; retry later", 1);
+        }
+    }
+
+    /**
+     * Whether expensive requests are currently being shed; background jobs use it to back off.
+     */
+    public boolean isOverloaded() {
+        return Double.longBitsToDouble(latencyEwma.get()) > latencyThresholdNanos
+                || pendingConnections() > pendingThreshold;
+    }
+
+    public void record(long latencyNanos) {
+        while (true) {
+            long current = latencyEwma.get();
+            double average = Double.longBitsToDouble(current);
+            double next = average == 0 ? latencyNanos : average + ALPHA * (latencyNanos - average);
+            if (latencyEwma.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private int pendingConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todo_api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies {@link LoadShedder} and {@link RateLimiter} before a handler runs and feeds handler
+ * latency back into the shedder. Clients are identified by {@link ClientIdentity}.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".start";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+    private final ClientIdentity clientIdentity;
+
+    @Autowired
+    public RateLimitInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, MeterRegistry meterRegistry,
+                                ClientIdentity clientIdentity) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.meterRegistry = meterRegistry;
+        this.clientIdentity = clientIdentity;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // async re-dispatches (streaming export) were already admitted on the initial dispatch
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        long start = System.nanoTime();
+        RateLimited annotation = handlerMethod.getMethodAnnotation(RateLimited.class);
+        RateLimitTier tier = annotation == null ? RateLimitTier.CHEAP : annotation.value();
+        String reason = "shed";
+        try {
+            loadShedder.check(tier);
+            reason = "rate";
+            rateLimiter.acquire(tier, clientIdentity.clientKey(request));
+        } catch (RuntimeException ex) {
+            // rejections count as (fast) requests, so the latency average recovers once load drops
+            loadShedder.record(System.nanoTime() - start);
+            meterRegistry.counter("todo.requests.rejected", "tier", tier.name().toLowerCase(), "reason", reason).increment();
+            throw ex;
+        }
+        request.setAttribute(START_ATTRIBUTE, start);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // long-lived streams would drown out the latency signal, so only synchronous requests are recorded
+        if (request.getDispatcherType() == DispatcherType.REQUEST && !request.isAsyncStarted()
+                && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            loadShedder.record(System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.example.todo_api.ratelimit;
+
+public enum RateLimitTier {
+    /** Full-table lists, exports, searches and batches. */
+    EXPENSIVE,
+    /** Single-todo reads and writes. */
+    CHEAP
+}
@@ -0,0 +1,15 @@
+package com.example.todo_api.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method in a rate limit tier. Handlers without it count against {@link RateLimitTier#CHEAP}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    RateLimitTier value();
+}
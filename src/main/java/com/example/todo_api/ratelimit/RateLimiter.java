@@ -0,0 +1,59 @@
+package com.example.todo_api.ratelimit;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.todo_api.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-client token buckets, one set per {@link RateLimitTier}. Buckets of clients that go quiet
+ * are dropped after {@code todo.rate-limit.idle-timeout}; a returning client starts with a full bucket.
+ */
+@Component
+public class RateLimiter {
+
+    private final Map<RateLimitTier, Cache<String, TokenBucket>> buckets = new EnumMap<>(RateLimitTier.class);
+    private final Map<RateLimitTier, Limit> limits = new EnumMap<>(RateLimitTier.class);
+
+    @Autowired
+    public RateLimiter(@Value("${todo.rate-limit.expensive.capacity}") long expensiveCapacity,
+                       @Value("${todo.rate-limit.expensive.refill-per-second}") double expensiveRefill,
+                       @Value("${todo.rate-limit.cheap.capacity}") long cheapCapacity,
+                       @Value("${todo.rate-limit.cheap.refill-per-second}") double cheapRefill,
+                       @Value("${todo.rate-limit.max-clients}") long maxClients,
+                       @Value("${todo.rate-limit.idle-timeout}") Duration idleTimeout) {
+        register(RateLimitTier.EXPENSIVE, expensiveCapacity, expensiveRefill, maxClients, idleTimeout);
+        register(RateLimitTier.CHEAP, cheapCapacity, cheapRefill, maxClients, idleTimeout);
+    }
+
+    public void acquire(RateLimitTier tier, String clientKey) {
+        long now = System.nanoTime();
+        Limit limit = limits.get(tier);
+        TokenBucket bucket = buckets.get(tier)
+                .get(clientKey, key -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException("Rate limit exceeded for " + tier.name().toLowerCase() + " requests", retryAfter);
+        }
+    }
+
+    private void register(RateLimitTier tier, long capacity, double refillPerSecond, long maxClients, Duration idleTimeout) {
+        limits.put(tier, new Limit(capacity, refillPerSecond));
+        buckets.put(tier, Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build());
+    }
+
+    private record Limit(long capacity, double refillPerSecond) {
+    }
+}
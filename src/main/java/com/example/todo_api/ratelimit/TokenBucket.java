@@ -0,0 +1,38 @@
+package com.example.todo_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (GCRA). Each permit pushes the
+ * arrival time forward by one refill interval; a request is refused when that would put it more
+ * than {@code capacity} intervals ahead of now.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a permit was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
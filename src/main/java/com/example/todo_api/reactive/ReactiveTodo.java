@@ -0,0 +1,37 @@
+package com.example.todo_api.reactive;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * R2DBC mapping of the {@code todos} table that the JPA {@code Todo} entity owns.
+ */
+@Table("todos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactiveTodo {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private boolean completed;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,104 @@
+package com.example.todo_api.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoSearchResponse;
+import com.example.todo_api.model.dto.TodoStatsResponse;
+import com.example.todo_api.stats.TodoStatistics;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same {@code /api/todos} contract as the servlet {@code TodoController}, served by WebFlux.
+ * List and export responses are written as rows arrive from R2DBC, so client demand propagates back to the query.
+ */
+@RestController
+@RequestMapping("/api/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoController {
+    private final ReactiveTodoService todoService;
+    private final TodoStatistics todoStatistics;
+
+    @Autowired
+    public ReactiveTodoController(ReactiveTodoService todoService, TodoStatistics todoStatistics) {
+        this.todoService = todoService;
+        this.todoStatistics = todoStatistics;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllTodos(@RequestParam(value = "completed", required = false) Boolean completed,
+                                               @RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            return todoService.getTodoPage(completed, limit, after)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok);
+        }
+
+        Flux<TodoResponse> todos = completed != null
+                ? todoService.getTodosByStatus(completed)
+                : todoService.getAllTodos();
+        return Mono.<ResponseEntity<?>>just(ResponseEntity.ok(todos));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoResponse> exportTodos() {
+        return todoService.getAllTodos();
+    }
+
+    @GetMapping("/search")
+    public Mono<TodoSearchResponse> searchTodos(@RequestParam("q") String query,
+                                                @RequestParam(value = "page", required = false) Integer page,
+                                                @RequestParam(value = "size", required = false) Integer size) {
+        return todoService.searchTodos(query, page, size);
+    }
+
+    @GetMapping("/stats")
+    public Mono<TodoStatsResponse> getStats() {
+        return Mono.fromSupplier(todoStatistics::snapshot);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TodoResponse> getTodoById(@PathVariable Long id) {
+        return todoService.getTodoById(id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TodoResponse>> createTodo(@Valid @RequestBody TodoRequest todoRequest) {
+        return todoService.createTodo(todoRequest)
+                .map(createdTodo -> ResponseEntity.status(HttpStatus.CREATED).body(createdTodo));
+    }
+
+    @RequestMapping(value = "/{id}", method = {RequestMethod.POST, RequestMethod.PUT})
+    public Mono<TodoResponse> updateTodo(@PathVariable Long id, @Valid @RequestBody TodoRequest todoRequest) {
+        return todoService.updateTodo(id, todoRequest);
+    }
+
+    @PatchMapping("/{id}/toggle")
+    public Mono<TodoResponse> toggleTodoStatus(@PathVariable Long id) {
+        return todoService.toggleTodoStatus(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id) {
+        return todoService.deleteTodo(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todo_api.reactive;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.todo_api.model.dto.TodoTag;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveTodoRepository extends R2dbcRepository<ReactiveTodo, Long> {
+
+    Flux<ReactiveTodo> findAllByOrderByCreatedAtDescIdDesc();
+
+    Flux<ReactiveTodo> findByCompletedOrderByCreatedAtDescIdDesc(boolean completed);
+
+    @Query("select * from todos order by created_at desc, id desc limit :limit")
+    Flux<ReactiveTodo> findFirstPage(@Param("limit") int limit);
+
+    @Query("select * from todos where created_at < :createdAt or (created_at = :createdAt and id < :id) "
+            + "order by created_at desc, id desc limit :limit")
+    Flux<ReactiveTodo> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                     @Param("limit") int limit);
+
+    @Query("select * from todos where completed = :completed order by created_at desc, id desc limit :limit")
+    Flux<ReactiveTodo> findFirstPageByCompleted(@Param("completed") boolean completed, @Param("limit") int limit);
+
+    @Query("select * from todos where completed = :completed "
+            + "and (created_at < :createdAt or (created_at = :createdAt and id < :id)) "
+            + "order by created_at desc, id desc limit :limit")
+    Flux<ReactiveTodo> findPageAfterByCompleted(@Param("completed") boolean completed,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                @Param("limit") int limit);
+
+    @Modifying
+    @Query("update todos set completed = not completed, updated_at = :updatedAt, version = version + 1 where id = :id")
+    Mono<Integer> toggleCompleted(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select next value for todos_seq")
+    Mono<Long> nextSequenceValue();
+
+    @Query("select todo_id, tag from todo_tags where todo_id in (:ids)")
+    Flux<TodoTag> findTagsByTodoIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("insert into todo_tags (todo_id, tag) values (:id, :tag)")
+    Mono<Integer> insertTag(@Param("id") Long id, @Param("tag") String tag);
+
+    @Modifying
+    @Query("delete from todo_tags where todo_id = :id")
+    Mono<Integer> deleteTags(@Param("id") Long id);
+}
@@ -0,0 +1,267 @@
+package com.example.todo_api.reactive;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.todo_api.TodoEtags;
+import com.example.todo_api.TodoService;
+import com.example.todo_api.config.CacheConfig;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.exception.InvalidRequestException;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoPageResponse;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoSearchResponse;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.search.SearchHits;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.tags.TodoTagIndex;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TodoService} over R2DBC, used when the app runs as a reactive web application.
+ * Tags are read and written alongside their todo, writes run in one R2DBC transaction, and the same caches are
+ * evicted and the same change events published as on the servlet side, so the derived indexes stay in step.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoService {
+
+    // rows per tag lookup while streaming lists, to keep the IN list bounded
+    private static final int TAG_LOOKUP_CHUNK_SIZE = 500;
+
+    private final ReactiveTodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoSearchIndex searchIndex;
+    private final TransactionalOperator transactionalOperator;
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public ReactiveTodoService(ReactiveTodoRepository todoRepository, ApplicationEventPublisher eventPublisher,
+                               TodoSearchIndex searchIndex, TransactionalOperator transactionalOperator,
+                               CacheManager cacheManager) {
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.transactionalOperator = transactionalOperator;
+        this.cacheManager = cacheManager;
+    }
+
+    public Flux<TodoResponse> getAllTodos() {
+        return withTags(todoRepository.findAllByOrderByCreatedAtDescIdDesc());
+    }
+
+    public Flux<TodoResponse> getTodosByStatus(boolean completed) {
+        return withTags(todoRepository.findByCompletedOrderByCreatedAtDescIdDesc(completed));
+    }
+
+    public Mono<TodoPageResponse> getTodoPage(Boolean completed, Integer limit, String after) {
+        int pageSize = limit == null
+                ? TodoService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TodoService.MAX_PAGE_SIZE));
+        TodoCursor cursor = after == null || after.isBlank() ? null : TodoCursor.decode(after);
+        int fetchLimit = pageSize + 1;
+
+        Flux<ReactiveTodo> rows;
+        if (completed == null) {
+            rows = cursor == null
+                    ? todoRepository.findFirstPage(fetchLimit)
+                    : todoRepository.findPageAfter(cursor.createdAt(), cursor.id(), fetchLimit);
+        } else {
+            rows = cursor == null
+                    ? todoRepository.findFirstPageByCompleted(completed, fetchLimit)
+                    : todoRepository.findPageAfterByCompleted(completed, cursor.createdAt(), cursor.id(), fetchLimit);
+        }
+
+        return withTags(rows)
+                .map(this::viewOf)
+                .collectList()
+                .map(items -> {
+                    boolean hasMore = items.size() > pageSize;
+                    List<TodoView> page = hasMore ? items.subList(0, pageSize) : items;
+                    String nextCursor = null;
+                    if (hasMore) {
+                        TodoView last = page.get(page.size() - 1);
+                        nextCursor = new TodoCursor(last.createdAt(), last.id()).encode();
+                    }
+                    return new TodoPageResponse(page, nextCursor, pageSize);
+                });
+    }
+
+    public Mono<TodoSearchResponse> searchTodos(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            return Mono.error(new InvalidRequestException("Search query cannot be empty"));
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null
+                ? TodoService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, TodoService.MAX_PAGE_SIZE));
+
+        SearchHits hits = searchIndex.search(query, pageNumber * pageSize, pageSize);
+        return todoRepository.findAllById(hits.ids())
+                .collectMap(ReactiveTodo::getId)
+                .flatMapMany((Map<Long, ReactiveTodo> todosById) -> withTags(Flux.fromStream(hits.ids().stream()
+                        .map(todosById::get)
+                        .filter(todo -> todo != null))))
+                .collectList()
+                .map(items -> new TodoSearchResponse(query, hits.total(), pageNumber, pageSize, items));
+    }
+
+    public Mono<TodoResponse> getTodoById(Long id) {
+        return findExisting(id).flatMap(this::withTags);
+    }
+
+    public Mono<TodoResponse> createTodo(TodoRequest todoRequest) {
+        List<String> tags = TodoTagIndex.normalize(todoRequest.getTags());
+        // pooled-lo: the JPA side uses [value, value + 50) for each sequence value it draws,
+        // so a value drawn here is never handed out by Hibernate
+        return todoRepository.nextSequenceValue()
+                .flatMap(id -> {
+                    LocalDateTime now = TodoEtags.now();
+                    ReactiveTodo todo = new ReactiveTodo(id, todoRequest.getTitle(), todoRequest.getDescription(),
+                            todoRequest.isCompleted(), now, now, null);
+                    return todoRepository.save(todo);
+                })
+                .flatMap(saved -> insertTags(saved.getId(), tags).thenReturn(mapToResponse(saved, tags)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(response -> {
+                    evictCaches(response.getId());
+                    eventPublisher.publishEvent(TodoChangedEvent.created(response));
+                });
+    }
+
+    public Mono<TodoResponse> updateTodo(Long id, TodoRequest todoRequest) {
+        List<String> tags = TodoTagIndex.normalize(todoRequest.getTags());
+        return findExisting(id)
+                .flatMap(this::withTags)
+                .flatMap(previous -> {
+                    ReactiveTodo todo = new ReactiveTodo(id, todoRequest.getTitle(), todoRequest.getDescription(),
+                            todoRequest.isCompleted(), previous.getCreatedAt(), TodoEtags.now(),
+                            previous.getVersion());
+                    Mono<Void> writeTags = tags.equals(previous.getTags())
+                            ? Mono.empty()
+                            : todoRepository.deleteTags(id).then(insertTags(id, tags));
+                    return todoRepository.save(todo)
+                            .flatMap(saved -> writeTags.thenReturn(mapToResponse(saved, tags)))
+                            .map(response -> TodoChangedEvent.updated(previous, response));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(event -> {
+                    evictCaches(id);
+                    eventPublisher.publishEvent(event);
+                })
+                .map(TodoChangedEvent::current);
+    }
+
+    public Mono<TodoResponse> toggleTodoStatus(Long id) {
+        return todoRepository.toggleCompleted(id, TodoEtags.now())
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new ResourceNotFoundException("Todo", "id", id))
+                        : findExisting(id))
+                .flatMap(this::withTags)
+                .as(transactionalOperator::transactional)
+                .doOnNext(response -> {
+                    TodoResponse previous = copyOf(response);
+                    previous.setCompleted(!response.isCompleted());
+                    evictCaches(id);
+                    eventPublisher.publishEvent(TodoChangedEvent.toggled(previous, response));
+                });
+    }
+
+    public Mono<Void> deleteTodo(Long id) {
+        // the tag rows go with the todo (on delete cascade)
+        return findExisting(id)
+                .flatMap(todo -> withTags(todo).flatMap(previous -> todoRepository.delete(todo).thenReturn(previous)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(previous -> {
+                    evictCaches(id);
+                    eventPublisher.publishEvent(TodoChangedEvent.deleted(id, previous));
+                })
+                .then();
+    }
+
+    private Mono<ReactiveTodo> findExisting(Long id) {
+        return todoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Todo", "id", id)));
+    }
+
+    private Mono<TodoResponse> withTags(ReactiveTodo todo) {
+        return todoRepository.findTagsByTodoIds(List.of(todo.getId()))
+                .map(TodoTag::tag)
+                .collectList()
+                .map(tags -> mapToResponse(todo, tags));
+    }
+
+    private Flux<TodoResponse> withTags(Flux<ReactiveTodo> todos) {
+        return todos.buffer(TAG_LOOKUP_CHUNK_SIZE)
+                .concatMap(chunk -> todoRepository.findTagsByTodoIds(chunk.stream().map(ReactiveTodo::getId).toList())
+                        .collectMultimap(TodoTag::todoId, TodoTag::tag)
+                        .flatMapIterable(tagsById -> chunk.stream()
+                                .map(todo -> mapToResponse(todo, tagsById.get(todo.getId())))
+                                .toList()));
+    }
+
+    private Mono<Void> insertTags(Long id, List<String> tags) {
+        return Flux.fromIterable(tags)
+                .concatMap(tag -> todoRepository.insertTag(id, tag))
+                .then();
+    }
+
+    // the same entries TodoService evicts or replaces on a write
+    private void evictCaches(Long id) {
+        Cache byId = cacheManager.getCache(CacheConfig.TODOS_BY_ID);
+        if (byId != null) {
+            byId.evict(id);
+        }
+        Cache byStatus = cacheManager.getCache(CacheConfig.TODOS_BY_STATUS);
+        if (byStatus != null) {
+            byStatus.clear();
+        }
+    }
+
+    private TodoResponse mapToResponse(ReactiveTodo todo, Collection<String> tags) {
+        TodoResponse response = new TodoResponse();
+        response.setId(todo.getId());
+        response.setTitle(todo.getTitle());
+        response.setDescription(todo.getDescription());
+        response.setCompleted(todo.isCompleted());
+        response.setCreatedAt(todo.getCreatedAt());
+        response.setUpdatedAt(todo.getUpdatedAt());
+        response.setVersion(todo.getVersion());
+        response.setTags(tags == null ? List.of() : tags.stream().sorted().toList());
+        return response;
+    }
+
+    private TodoView viewOf(TodoResponse todo) {
+        return new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion(), todo.getTags());
+    }
+
+    private TodoResponse copyOf(TodoResponse source) {
+        TodoResponse copy = new TodoResponse();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setCompleted(source.isCompleted());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        copy.setTags(source.getTags());
+        return copy;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todo_api.repository;
+
+import com.example.todo_api.model.dto.ArchivedTodoView;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.model.entity.ArchivedTodo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    String SELECT_VIEW = "select new com.example.todo_api.model.dto.ArchivedTodoView("
+            + "a.id, a.title, a.description, a.createdAt, a.completedAt, a.archivedAt) from ArchivedTodo a ";
+
+    @Query(SELECT_VIEW + "where a.id = :id")
+    Optional<ArchivedTodoView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "order by a.createdAt desc, a.id desc")
+    List<ArchivedTodoView> findFirstPage(Limit limit);
+
+    @Query(SELECT_VIEW + "where a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id) "
+            + "order by a.createdAt desc, a.id desc")
+    List<ArchivedTodoView> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("select new com.example.todo_api.model.dto.TodoTag(a.id, tag) from ArchivedTodo a join a.tags tag "
+            + "where a.id in :ids")
+    List<TodoTag> findTagsByIds(@Param("ids") Collection<Long> ids);
+}
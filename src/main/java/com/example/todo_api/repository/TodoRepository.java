@@ -1,15 +1,90 @@
 package com.example.todo_api.repository;
 
 
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.model.dto.TodoView;
 import com.example.todo_api.model.entity.Todo;
+import com.example.todo_api.search.TodoSearchDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
-    
-    List<Todo> findByCompletedOrderByCreatedAtDesc(boolean completed);
-    List<Todo> findAllByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+
+    // list reads select straight into TodoView rows instead of loading managed entities
+    String SELECT_VIEW = "select new com.example.todo_api.model.dto.TodoView("
+            + "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version) from Todo t ";
+
+    @Query(SELECT_VIEW + "order by t.createdAt desc, t.id desc")
+    List<TodoView> findAllViews();
+
+    @Query(SELECT_VIEW + "where t.completed = :completed order by t.createdAt desc, t.id desc")
+    List<TodoView> findViewsByCompleted(@Param("completed") boolean completed);
+
+    @Query(SELECT_VIEW + "order by t.createdAt desc, t.id desc")
+    List<TodoView> findFirstPage(Limit limit);
+
+    @Query(SELECT_VIEW + "where t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id) "
+            + "order by t.createdAt desc, t.id desc")
+    List<TodoView> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_VIEW + "where t.completed = :completed order by t.createdAt desc, t.id desc")
+    List<TodoView> findFirstPageByCompleted(@Param("completed") boolean completed, Limit limit);
+
+    @Query(SELECT_VIEW + "where t.completed = :completed "
+            + "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) "
+            + "order by t.createdAt desc, t.id desc")
+    List<TodoView> findPageAfterByCompleted(@Param("completed") boolean completed,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("select new com.example.todo_api.model.dto.TodoTag(t.id, tag) from Todo t join t.tags tag where t.id in :ids")
+    List<TodoTag> findTagsByTodoIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t order by t.createdAt desc, t.id desc")
+    Stream<Todo> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.todo_api.search.TodoSearchDocument(t.id, t.title, t.description) from Todo t")
+    Stream<TodoSearchDocument> streamSearchDocuments();
+
+    @Query("select t.updatedAt from Todo t where t.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("select new com.example.todo_api.model.dto.TodoCollectionVersion(count(t), max(t.updatedAt)) from Todo t")
+    TodoCollectionVersion findCollectionVersion();
+
+    @Query("select new com.example.todo_api.model.dto.TodoCollectionVersion(count(t), max(t.updatedAt)) "
+            + "from Todo t where t.completed = :completed")
+    TodoCollectionVersion findCollectionVersionByCompleted(@Param("completed") boolean completed);
+
+    @Query("select new com.example.todo_api.model.dto.TodoCounts(count(t), "
+            + "sum(case when t.completed = true then 1 else 0 end), "
+            + "sum(case when t.createdAt >= :startOfDay then 1 else 0 end)) from Todo t")
+    TodoCounts countTodos(@Param("startOfDay") LocalDateTime startOfDay);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.completed = case when t.completed = true then false else true end, "
+            + "t.updatedAt = :updatedAt, t.version = t.version + 1 where t.id = :id")
+    int toggleCompleted(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+}
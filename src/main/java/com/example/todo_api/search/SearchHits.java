@@ -0,0 +1,6 @@
+package com.example.todo_api.search;
+
+import java.util.List;
+
+public record SearchHits(long total, List<Long> ids) {
+}
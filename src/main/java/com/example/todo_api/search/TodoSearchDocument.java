@@ -0,0 +1,4 @@
+package com.example.todo_api.search;
+
+public record TodoSearchDocument(Long id, String title, String description) {
+}
@@ -0,0 +1,284 @@
+package com.example.todo_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.store.TodoStore;
+
+/**
+ * In-memory inverted index over todo titles and descriptions.
+ * <p>
+ * Built once before the web server starts accepting requests, then kept current from
+ * {@link TodoChangedEvent}s after each commit. Queries match documents containing every
+ * query term and rank them by TF-IDF, with title terms weighted above description terms.
+ */
+@Component
+public class TodoSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndex.class);
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final TodoStore todoStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+
+    @Autowired
+    public TodoSearchIndex(TodoStore todoStore, PlatformTransactionManager transactionManager) {
+        this.todoStore = todoStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TodoSearchDocument> stream = todoStore.streamSearchDocuments()) {
+                    stream.forEach(this::indexLocked);
+                }
+            });
+            log.info("Indexed {} todos ({} terms) in {} ms",
+                    documents.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.ChangeType.TOGGLED) {
+            return;
+        }
+        TodoResponse current = event.current();
+        if (current == null) {
+            remove(event.id());
+        } else {
+            index(new TodoSearchDocument(current.getId(), current.getTitle(), current.getDescription()));
+        }
+    }
+
+    public void index(TodoSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return new SearchHits(0, List.of());
+                }
+                lists[i++] = list;
+            }
+            // drive the intersection from the rarest term
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            int documentCount = documents.size();
+            double[] idf = new double[lists.length];
+            for (int t = 0; t < lists.length; t++) {
+                idf[t] = Math.log(1.0 + (double) documentCount / lists[t].size);
+            }
+
+            PostingList rarest = lists[0];
+            long[] matchIds = new long[rarest.size];
+            double[] matchScores = new double[rarest.size];
+            int matches = 0;
+            candidates:
+            for (int p = 0; p < rarest.size; p++) {
+                long id = rarest.ids[p];
+                double score = rarest.weights[p] * idf[0];
+                for (int t = 1; t < lists.length; t++) {
+                    int position = lists[t].indexOf(id);
+                    if (position < 0) {
+                        continue candidates;
+                    }
+                    score += lists[t].weights[position] * idf[t];
+                }
+                matchIds[matches] = id;
+                matchScores[matches] = score / documents.get(id).norm;
+                matches++;
+            }
+
+            Integer[] order = new Integer[matches];
+            for (int m = 0; m < matches; m++) {
+                order[m] = m;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byScore = Double.compare(matchScores[b], matchScores[a]);
+                return byScore != 0 ? byScore : Long.compare(matchIds[b], matchIds[a]);
+            });
+
+            int from = Math.min(Math.max(offset, 0), matches);
+            int to = Math.min(from + Math.max(limit, 0), matches);
+            List<Long> page = new ArrayList<>(to - from);
+            for (int m = from; m < to; m++) {
+                page.add(matchIds[order[m]]);
+            }
+            return new SearchHits(matches, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                if (current.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private void indexLocked(TodoSearchDocument document) {
+        removeLocked(document.id());
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(document.title())) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(document.description())) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        long squares = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new PostingList()).put(document.id(), entry.getValue());
+            squares += (long) entry.getValue() * entry.getValue();
+        }
+        documents.put(document.id(), new IndexedDocument(weights.keySet().toArray(new String[0]), Math.sqrt(squares)));
+    }
+
+    private void removeLocked(Long id) {
+        IndexedDocument previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private record IndexedDocument(String[] terms, double norm) {
+    }
+
+    /**
+     * Sorted primitive id array with a parallel weight array.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        void put(long id, int weight) {
+            int position = indexOf(id);
+            if (position >= 0) {
+                weights[position] = weight;
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = indexOf(id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.todo_api.stats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoStatsResponse;
+import com.example.todo_api.store.TodoStore;
+
+/**
+ * Todo counts kept in memory so {@code GET /api/todos/stats} never touches the table.
+ * <p>
+ * Seeded from the database before the web server starts, then adjusted from
+ * {@link TodoChangedEvent}s after each commit. A scheduled reconciliation recounts in the database
+ * and corrects the drift against the counters as they stood when it started, so events applied
+ * while it was counting are kept. A write that commits while the count runs, with its event
+ * applied after the counters were read, is counted twice until the next round.
+ */
+@Component
+public class TodoStatistics implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStatistics.class);
+
+    private final TodoStore todoStore;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicReference<DayCounter> createdToday = new AtomicReference<>(new DayCounter(LocalDate.now()));
+    // events share the read side; reconciliation takes the write side to read all counters at one point
+    private final ReentrantReadWriteLock countersLock = new ReentrantReadWriteLock();
+    private volatile LocalDateTime lastReconciledAt;
+
+    @Autowired
+    public TodoStatistics(TodoStore todoStore) {
+        this.todoStore = todoStore;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    public TodoStatsResponse snapshot() {
+        long totalCount = total.sum();
+        long completedCount = completed.sum();
+        return new TodoStatsResponse(totalCount, totalCount - completedCount, completedCount,
+                today().count.sum(), lastReconciledAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        countersLock.readLock().lock();
+        try {
+            apply(event);
+        } finally {
+            countersLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.reconcile-interval}", initialDelayString = "${todo.stats.reconcile-interval}")
+    public void reconcile() {
+        LocalDate day = LocalDate.now();
+        long totalBefore;
+        long completedBefore;
+        long createdBefore;
+        DayCounter counter;
+        countersLock.writeLock().lock();
+        try {
+            totalBefore = total.sum();
+            completedBefore = completed.sum();
+            counter = today();
+            createdBefore = counter.count.sum();
+        } finally {
+            countersLock.writeLock().unlock();
+        }
+        TodoCounts counts = todoStore.countTodos(day.atStartOfDay());
+
+        long totalDrift = counts.total() - totalBefore;
+        long completedDrift = counts.completed() - completedBefore;
+        long createdDrift = counter.day.equals(day) ? counts.createdToday() - createdBefore : 0;
+        if (lastReconciledAt != null && (totalDrift != 0 || completedDrift != 0 || createdDrift != 0)) {
+            log.warn("Correcting todo stats drift: total {}, completed {}, created today {}",
+                    totalDrift, completedDrift, createdDrift);
+        }
+        total.add(totalDrift);
+        completed.add(completedDrift);
+        counter.count.add(createdDrift);
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    private void apply(TodoChangedEvent event) {
+        TodoResponse previous = event.previous();
+        TodoResponse current = event.current();
+        switch (event.type()) {
+            case CREATED -> {
+                total.increment();
+                if (current.isCompleted()) {
+                    completed.increment();
+                }
+                countCreated(current, 1);
+            }
+            case UPDATED, TOGGLED -> {
+                if (previous != null && previous.isCompleted() != current.isCompleted()) {
+                    completed.add(current.isCompleted() ? 1 : -1);
+                }
+            }
+            case DELETED -> {
+                total.decrement();
+                if (previous != null) {
+                    if (previous.isCompleted()) {
+                        completed.decrement();
+                    }
+                    countCreated(previous, -1);
+                }
+            }
+        }
+    }
+
+    private void countCreated(TodoResponse todo, int delta) {
+        DayCounter counter = today();
+        if (todo.getCreatedAt() != null && counter.day.equals(todo.getCreatedAt().toLocalDate())) {
+            counter.count.add(delta);
+        }
+    }
+
+    private DayCounter today() {
+        LocalDate day = LocalDate.now();
+        DayCounter counter = createdToday.get();
+        while (!counter.day.equals(day)) {
+            // first touch after midnight starts the new day at zero
+            createdToday.compareAndSet(counter, new DayCounter(day));
+            counter = createdToday.get();
+        }
+        return counter;
+    }
+
+    private static final class DayCounter {
+        private final LocalDate day;
+        private final LongAdder count = new LongAdder();
+
+        private DayCounter(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
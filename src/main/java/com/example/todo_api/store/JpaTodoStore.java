@@ -0,0 +1,300 @@
+package com.example.todo_api.store;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoTag;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.model.entity.Todo;
+import com.example.todo_api.repository.TodoRepository;
+import com.example.todo_api.search.TodoSearchDocument;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * {@link TodoStore} over {@link TodoRepository}. Runs inside the caller's transaction; reads
+ * project straight into views where the repository allows it, with tags filled in by one extra
+ * query per chunk of rows, and writes go through managed entities so Hibernate's version check and
+ * JDBC batching apply. A {@code @Repository}, so persistence exceptions from those flushes (a
+ * failed version check above all) reach callers as Spring's {@code DataAccessException}s.
+ */
+@Repository
+@ConditionalOnProperty(name = "todo.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTodoStore implements TodoStore {
+
+    // bounds the IN list of a single id lookup
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public JpaTodoStore(TodoRepository todoRepository, EntityManager entityManager) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TodoView> findAll() {
+        return withTags(todoRepository.findAllViews());
+    }
+
+    @Override
+    public List<TodoView> findByCompleted(boolean completed) {
+        return withTags(todoRepository.findViewsByCompleted(completed));
+    }
+
+    @Override
+    public List<TodoView> findPage(Boolean completed, TodoCursor after, int limit) {
+        Limit fetchLimit = Limit.of(limit);
+        List<TodoView> page;
+        if (completed == null) {
+            page = after == null
+                    ? todoRepository.findFirstPage(fetchLimit)
+                    : todoRepository.findPageAfter(after.createdAt(), after.id(), fetchLimit);
+        } else {
+            page = after == null
+                    ? todoRepository.findFirstPageByCompleted(completed, fetchLimit)
+                    : todoRepository.findPageAfterByCompleted(completed, after.createdAt(), after.id(), fetchLimit);
+        }
+        return withTags(page);
+    }
+
+    @Override
+    public Stream<TodoView> streamAll() {
+        // rows are detached once mapped so the persistence context does not grow with the table;
+        // tags are not touched on the entity but read for a chunk of rows at a time
+        Stream<TodoView> views = todoRepository.streamAllBy().map(todo -> {
+            TodoView view = new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                    todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion());
+            entityManager.detach(todo);
+            return view;
+        });
+        Iterator<TodoView> rows = views.iterator();
+        Iterator<List<TodoView>> chunks = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public List<TodoView> next() {
+                List<TodoView> chunk = new ArrayList<>(LOOKUP_CHUNK_SIZE);
+                while (chunk.size() < LOOKUP_CHUNK_SIZE && rows.hasNext()) {
+                    chunk.add(rows.next());
+                }
+                return withTags(chunk);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(views::close);
+    }
+
+    @Override
+    public Stream<TodoSearchDocument> streamSearchDocuments() {
+        return todoRepository.streamSearchDocuments();
+    }
+
+    @Override
+    public Optional<TodoView> findById(long id) {
+        return todoRepository.findById(id).map(JpaTodoStore::viewOf);
+    }
+
+    @Override
+    public List<TodoView> findAllById(List<Long> ids) {
+        List<TodoView> views = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += LOOKUP_CHUNK_SIZE) {
+            for (Todo todo : todoRepository.findAllById(ids.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, ids.size())))) {
+                views.add(viewOf(todo));
+            }
+        }
+        return views;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(long id) {
+        return todoRepository.findUpdatedAtById(id);
+    }
+
+    @Override
+    public TodoCollectionVersion collectionVersion(Boolean completed) {
+        return completed == null
+                ? todoRepository.findCollectionVersion()
+                : todoRepository.findCollectionVersionByCompleted(completed);
+    }
+
+    @Override
+    public TodoCounts countTodos(LocalDateTime startOfDay) {
+        return todoRepository.countTodos(startOfDay);
+    }
+
+    @Override
+    public TodoView insert(TodoView todo) {
+        return viewOf(todoRepository.save(newEntity(todo)));
+    }
+
+    @Override
+    public List<TodoView> insertAll(List<TodoView> todos) {
+        List<Todo> entities = new ArrayList<>(todos.size());
+        for (TodoView todo : todos) {
+            entities.add(newEntity(todo));
+        }
+        List<Todo> saved = todoRepository.saveAll(entities);
+        entityManager.flush();
+        List<TodoView> views = saved.stream().map(JpaTodoStore::viewOf).toList();
+        entityManager.clear();
+        return views;
+    }
+
+    @Override
+    public Optional<Change> update(long id, UnaryOperator<TodoView> change) {
+        Optional<Todo> existing = todoRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Todo todo = existing.get();
+        TodoView previous = viewOf(todo);
+        apply(todo, change.apply(previous));
+        Todo saved = todoRepository.save(todo);
+        // flush now so the version check runs here and the result carries the new version
+        entityManager.flush();
+        return Optional.of(new Change(previous, viewOf(saved)));
+    }
+
+    @Override
+    public Map<Long, Change> updateAll(Map<Long, UnaryOperator<TodoView>> changes) {
+        Map<Long, TodoView> previous = new LinkedHashMap<>();
+        List<Todo> updated = new ArrayList<>(changes.size());
+        for (Todo todo : todoRepository.findAllById(changes.keySet())) {
+            TodoView before = viewOf(todo);
+            previous.put(todo.getId(), before);
+            apply(todo, changes.get(todo.getId()).apply(before));
+            updated.add(todo);
+        }
+        entityManager.flush();
+
+        Map<Long, Change> result = new LinkedHashMap<>();
+        for (Todo todo : updated) {
+            result.put(todo.getId(), new Change(previous.get(todo.getId()), viewOf(todo)));
+        }
+        entityManager.clear();
+        return result;
+    }
+
+    @Override
+    public Optional<Change> toggle(long id, LocalDateTime updatedAt) {
+        // flip in a single UPDATE so concurrent toggles cannot lose each other's writes
+        if (todoRepository.toggleCompleted(id, updatedAt) == 0) {
+            return Optional.empty();
+        }
+        return todoRepository.findById(id).map(todo -> {
+            TodoView current = viewOf(todo);
+            TodoView previous = new TodoView(current.id(), current.title(), current.description(),
+                    !current.completed(), current.createdAt(), current.updatedAt(), current.version(), current.tags());
+            return new Change(previous, current);
+        });
+    }
+
+    @Override
+    public Optional<TodoView> delete(long id, Consumer<TodoView> check) {
+        return todoRepository.findById(id).map(todo -> {
+            TodoView previous = viewOf(todo);
+            check.accept(previous);
+            todoRepository.delete(todo);
+            // the delete is version-checked too, so a change since the read fails here
+            entityManager.flush();
+            return previous;
+        });
+    }
+
+    @Override
+    public List<TodoView> deleteAll(List<Long> ids) {
+        Map<Long, TodoView> existing = new LinkedHashMap<>(ids.size());
+        for (int start = 0; start < ids.size(); start += LOOKUP_CHUNK_SIZE) {
+            for (Todo todo : todoRepository.findAllById(ids.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, ids.size())))) {
+                existing.put(todo.getId(), viewOf(todo));
+            }
+        }
+        if (!existing.isEmpty()) {
+            todoRepository.deleteAllByIdInBatch(existing.keySet());
+        }
+        return new ArrayList<>(existing.values());
+    }
+
+    private static Todo newEntity(TodoView todo) {
+        Todo entity = new Todo();
+        entity.setTitle(todo.title());
+        entity.setDescription(todo.description());
+        entity.setCompleted(todo.completed());
+        entity.setCreatedAt(todo.createdAt());
+        entity.setUpdatedAt(todo.updatedAt());
+        entity.setTags(new HashSet<>(todo.tags()));
+        return entity;
+    }
+
+    private static void apply(Todo todo, TodoView state) {
+        todo.setTitle(state.title());
+        todo.setDescription(state.description());
+        todo.setCompleted(state.completed());
+        todo.setUpdatedAt(state.updatedAt());
+        // replacing an equal set would still mark the collection dirty and bump the version
+        Set<String> tags = new HashSet<>(state.tags());
+        if (!todo.getTags().equals(tags)) {
+            todo.getTags().clear();
+            todo.getTags().addAll(tags);
+        }
+    }
+
+    private List<TodoView> withTags(List<TodoView> views) {
+        if (views.isEmpty()) {
+            return views;
+        }
+        Map<Long, TreeSet<String>> tagsById = new HashMap<>();
+        for (int start = 0; start < views.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<Long> ids = views.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, views.size())).stream()
+                    .map(TodoView::id)
+                    .toList();
+            for (TodoTag row : todoRepository.findTagsByTodoIds(ids)) {
+                tagsById.computeIfAbsent(row.todoId(), id -> new TreeSet<>()).add(row.tag());
+            }
+        }
+        if (tagsById.isEmpty()) {
+            return views;
+        }
+        List<TodoView> tagged = new ArrayList<>(views.size());
+        for (TodoView view : views) {
+            TreeSet<String> tags = tagsById.get(view.id());
+            tagged.add(tags == null ? view : view.withTags(new ArrayList<>(tags)));
+        }
+        return tagged;
+    }
+
+    static TodoView viewOf(Todo todo) {
+        return new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion(), new ArrayList<>(new TreeSet<>(todo.getTags())));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.todo_api.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.example.todo_api.model.dto.TodoView;
+
+/**
+ * Open-addressing map from todo id to its current view, keyed by primitive {@code long} so
+ * lookups neither box the id nor allocate entries.
+ * <p>
+ * One writer at a time (the caller serializes writes), any number of lock-free readers. A slot's
+ * key is published before its value, so a reader that finds the key but not yet the value treats
+ * the todo as absent. Removing clears the value and leaves the key as a tombstone; tombstones are
+ * dropped when the table is rebuilt, which happens on the writer and is published by swapping the
+ * volatile table reference. Ids are positive, so 0 marks an empty slot.
+ */
+final class LongTodoMap {
+
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    // writer-only bookkeeping
+    private int size;
+    private int used;
+
+    TodoView get(long id) {
+        Table current = table;
+        for (int slot = current.home(id); ; slot = current.next(slot)) {
+            long key = current.keys.get(slot);
+            if (key == id) {
+                return current.values.get(slot);
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    void put(long id, TodoView value) {
+        if (used >= table.capacity() / 2) {
+            rebuild(Math.max(size + 1, MIN_CAPACITY / 4));
+        }
+        Table current = table;
+        int slot = current.find(id);
+        if (current.keys.get(slot) == EMPTY) {
+            current.keys.set(slot, id);
+            used++;
+        }
+        if (current.values.get(slot) == null) {
+            size++;
+        }
+        current.values.set(slot, value);
+    }
+
+    TodoView remove(long id) {
+        Table current = table;
+        int slot = current.find(id);
+        if (current.keys.get(slot) != id) {
+            return null;
+        }
+        TodoView previous = current.values.get(slot);
+        if (previous != null) {
+            current.values.set(slot, null);
+            size--;
+        }
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<TodoView> values() {
+        Table current = table;
+        List<TodoView> values = new ArrayList<>(size);
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            TodoView value = current.values.get(slot);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        used = 0;
+    }
+
+    // sized for at most a quarter full, so the next rebuild is several inserts away
+    private void rebuild(int entries) {
+        Table old = table;
+        Table rebuilt = new Table(Integer.highestOneBit(Math.max(entries * 4, MIN_CAPACITY) - 1) << 1);
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            TodoView value = old.values.get(slot);
+            if (value != null) {
+                int target = rebuilt.find(old.keys.get(slot));
+                rebuilt.keys.set(target, old.keys.get(slot));
+                rebuilt.values.set(target, value);
+            }
+        }
+        used = size;
+        table = rebuilt;
+    }
+
+    private static final class Table {
+
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<TodoView> values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        int home(long id) {
+            return Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+        }
+
+        int next(int slot) {
+            return (slot + 1) & mask;
+        }
+
+        // the slot holding id, or the empty slot where it would go
+        int find(long id) {
+            int slot = home(id);
+            while (true) {
+                long key = keys.get(slot);
+                if (key == id || key == EMPTY) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.todo_api.store;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todo_api.TodoEtags;
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.search.TodoSearchDocument;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link TodoStore} held entirely in memory, for deployments whose data fits in RAM and cannot
+ * afford a database round trip per call.
+ * <p>
+ * Todos live in a {@link LongTodoMap} by id, with sorted secondary indexes on
+ * {@code (createdAt, id)} for all todos and for each status, so pages, counts and status lists
+ * are read without locking. Writes are serialized by one lock: each is appended to the
+ * {@link TodoWriteAheadLog} and applied to the map and indexes under it, then waits outside the
+ * lock until the log is forced, so concurrent writers share one fsync. A snapshot every
+ * {@code todo.store.memory.snapshot-interval} (and on shutdown) compacts the log; on start the
+ * newest snapshot is loaded and the log after it replayed.
+ * <p>
+ * Writes are not part of the caller's database transaction: they take effect immediately and are
+ * not rolled back when the surrounding transaction is.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.store.engine", havingValue = "memory")
+public class MemoryTodoStore implements TodoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryTodoStore.class);
+
+    private final TodoWriteAheadLog writeAheadLog;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final LongTodoMap todos = new LongTodoMap();
+    private final ConcurrentSkipListMap<OrderKey, TodoView> all = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<OrderKey, TodoView> completed = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<OrderKey, TodoView> open = new ConcurrentSkipListMap<>();
+    // guarded by writeLock; summary is republished from them after every write. Last-modified
+    // times only move forward, so every write changes the collection ETags.
+    private long nextId = 1;
+    private long completedCount;
+    private LocalDateTime lastModified;
+    private LocalDateTime completedLastModified;
+    private LocalDateTime openLastModified;
+    private volatile Summary summary = new Summary(0, 0, null, null, null);
+
+    @Autowired
+    public MemoryTodoStore(@Value("${todo.store.memory.directory}") String directory,
+                           @Value("${todo.store.memory.fsync}") boolean fsync) {
+        this(Path.of(directory), fsync);
+    }
+
+    public MemoryTodoStore(Path directory, boolean fsync) {
+        this.writeAheadLog = new TodoWriteAheadLog(directory, fsync);
+        long recoveredNextId = writeAheadLog.recover(this::apply, this::applyDelete);
+        nextId = Math.max(nextId, recoveredNextId);
+        summary = summarize();
+        log.info("Recovered {} todos from {}", todos.size(), directory);
+    }
+
+    @Override
+    public List<TodoView> findAll() {
+        return new ArrayList<>(all.values());
+    }
+
+    @Override
+    public List<TodoView> findByCompleted(boolean completed) {
+        return new ArrayList<>(index(completed).values());
+    }
+
+    @Override
+    public List<TodoView> findPage(Boolean completed, TodoCursor after, int limit) {
+        ConcurrentNavigableMap<OrderKey, TodoView> index = completed == null ? all : index(completed);
+        if (after != null) {
+            index = index.tailMap(new OrderKey(after.createdAt(), after.id()), false);
+        }
+        List<TodoView> page = new ArrayList<>(Math.min(limit, 256));
+        for (TodoView todo : index.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(todo);
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<TodoView> streamAll() {
+        return all.values().stream();
+    }
+
+    @Override
+    public Stream<TodoSearchDocument> streamSearchDocuments() {
+        return all.values().stream().map(todo -> new TodoSearchDocument(todo.id(), todo.title(), todo.description()));
+    }
+
+    @Override
+    public Optional<TodoView> findById(long id) {
+        return Optional.ofNullable(todos.get(id));
+    }
+
+    @Override
+    public List<TodoView> findAllById(List<Long> ids) {
+        List<TodoView> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TodoView todo = todos.get(id);
+            if (todo != null) {
+                found.add(todo);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(long id) {
+        return findById(id).map(TodoView::updatedAt);
+    }
+
+    @Override
+    public TodoCollectionVersion collectionVersion(Boolean completed) {
+        Summary current = summary;
+        if (completed == null) {
+            return new TodoCollectionVersion(current.total(), current.lastModified());
+        }
+        return completed
+                ? new TodoCollectionVersion(current.completed(), current.completedLastModified())
+                : new TodoCollectionVersion(current.total() - current.completed(), current.openLastModified());
+    }
+
+    @Override
+    public TodoCounts countTodos(LocalDateTime startOfDay) {
+        Summary current = summary;
+        // newest first, so everything created since the start of the day sorts before this key
+        long createdToday = all.headMap(new OrderKey(startOfDay, Long.MIN_VALUE)).size();
+        return new TodoCounts(current.total(), current.completed(), createdToday);
+    }
+
+    @Override
+    public List<TodoView> insertAll(List<TodoView> newTodos) {
+        List<TodoView> stored = new ArrayList<>(newTodos.size());
+        long position;
+        writeLock.lock();
+        try {
+            for (TodoView todo : newTodos) {
+                stored.add(new TodoView(nextId++, todo.title(), todo.description(), todo.completed(),
+                        todo.createdAt(), todo.updatedAt(), 0L, todo.tags()));
+            }
+            position = writeAheadLog.appendPuts(stored);
+            stored.forEach(this::apply);
+            summary = summarize();
+        } finally {
+            writeLock.unlock();
+        }
+        writeAheadLog.awaitDurable(position);
+        return stored;
+    }
+
+    @Override
+    public Optional<Change> update(long id, UnaryOperator<TodoView> change) {
+        Change applied = updateAll(Map.of(id, change)).get(id);
+        return Optional.ofNullable(applied);
+    }
+
+    @Override
+    public Map<Long, Change> updateAll(Map<Long, UnaryOperator<TodoView>> changes) {
+        Map<Long, Change> result = new LinkedHashMap<>();
+        long position;
+        writeLock.lock();
+        try {
+            // compute every new state before writing anything, so a throwing function aborts the lot
+            for (Map.Entry<Long, UnaryOperator<TodoView>> entry : changes.entrySet()) {
+                TodoView previous = todos.get(entry.getKey());
+                if (previous != null) {
+                    TodoView next = entry.getValue().apply(previous);
+                    result.put(previous.id(), new Change(previous, new TodoView(previous.id(), next.title(),
+                            next.description(), next.completed(), previous.createdAt(), next.updatedAt(),
+                            previous.version() + 1, next.tags())));
+                }
+            }
+            position = write(result);
+        } finally {
+            writeLock.unlock();
+        }
+        writeAheadLog.awaitDurable(position);
+        return result;
+    }
+
+    @Override
+    public Optional<Change> toggle(long id, LocalDateTime updatedAt) {
+        return update(id, todo -> new TodoView(todo.id(), todo.title(), todo.description(), !todo.completed(),
+                todo.createdAt(), updatedAt, todo.version(), todo.tags()));
+    }
+
+    @Override
+    public Optional<TodoView> delete(long id, Consumer<TodoView> check) {
+        List<TodoView> deleted = delete(List.of(id), check);
+        return deleted.isEmpty() ? Optional.empty() : Optional.of(deleted.get(0));
+    }
+
+    @Override
+    public List<TodoView> deleteAll(List<Long> ids) {
+        return delete(ids, todo -> { });
+    }
+
+    private List<TodoView> delete(List<Long> ids, Consumer<TodoView> check) {
+        Map<Long, TodoView> existing = new LinkedHashMap<>(ids.size());
+        long position;
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                TodoView todo = todos.get(id);
+                if (todo != null) {
+                    check.accept(todo);
+                    existing.put(id, todo);
+                }
+            }
+            if (existing.isEmpty()) {
+                return List.of();
+            }
+            position = writeAheadLog.appendDeletes(new ArrayList<>(existing.keySet()));
+            existing.keySet().forEach(this::applyDelete);
+            summary = summarize();
+        } finally {
+            writeLock.unlock();
+        }
+        writeAheadLog.awaitDurable(position);
+        return new ArrayList<>(existing.values());
+    }
+
+    /**
+     * Compacts the log: starts a new segment, then writes the state as of that point as a snapshot
+     * and deletes everything it supersedes. Only the segment switch and a copy of the values are
+     * taken under the write lock.
+     */
+    @Scheduled(fixedDelayString = "${todo.store.memory.snapshot-interval}",
+            initialDelayString = "${todo.store.memory.snapshot-interval}")
+    public void snapshot() {
+        long segment;
+        List<TodoView> state;
+        long snapshotNextId;
+        writeLock.lock();
+        try {
+            segment = writeAheadLog.rotate();
+            state = todos.values();
+            snapshotNextId = nextId;
+        } finally {
+            writeLock.unlock();
+        }
+        writeAheadLog.writeSnapshot(segment, state, snapshotNextId);
+        log.debug("Wrote todo store snapshot {} with {} todos", segment, state.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            snapshot();
+        } finally {
+            writeAheadLog.close();
+        }
+    }
+
+    private long write(Map<Long, Change> changes) {
+        List<TodoView> current = new ArrayList<>(changes.size());
+        for (Change change : changes.values()) {
+            current.add(change.current());
+        }
+        long position = writeAheadLog.appendPuts(current);
+        current.forEach(this::apply);
+        summary = summarize();
+        return position;
+    }
+
+    // the map is updated before the indexes, so a todo found through an index is always found by id
+    private void apply(TodoView todo) {
+        TodoView previous = todos.get(todo.id());
+        todos.put(todo.id(), todo);
+        OrderKey key = new OrderKey(todo.createdAt(), todo.id());
+        index(todo.completed()).put(key, todo);
+        if (previous != null && previous.completed() != todo.completed()) {
+            index(previous.completed()).remove(key);
+        }
+        all.put(key, todo);
+        if (todo.completed() && (previous == null || !previous.completed())) {
+            completedCount++;
+        } else if (!todo.completed() && previous != null && previous.completed()) {
+            completedCount--;
+        }
+        nextId = Math.max(nextId, todo.id() + 1);
+        trackModified(todo.completed(), todo.updatedAt());
+        if (previous != null && previous.completed() != todo.completed()) {
+            trackModified(previous.completed(), todo.updatedAt());
+        }
+    }
+
+    private void applyDelete(long id) {
+        TodoView previous = todos.get(id);
+        if (previous == null) {
+            return;
+        }
+        OrderKey key = new OrderKey(previous.createdAt(), id);
+        all.remove(key);
+        index(previous.completed()).remove(key);
+        todos.remove(id);
+        if (previous.completed()) {
+            completedCount--;
+        }
+        trackModified(previous.completed(), TodoEtags.now());
+    }
+
+    private ConcurrentSkipListMap<OrderKey, TodoView> index(boolean completed) {
+        return completed ? this.completed : open;
+    }
+
+    private void trackModified(boolean completed, LocalDateTime at) {
+        lastModified = later(lastModified, at);
+        if (completed) {
+            completedLastModified = later(completedLastModified, at);
+        } else {
+            openLastModified = later(openLastModified, at);
+        }
+    }
+
+    private Summary summarize() {
+        return new Summary(todos.size(), completedCount, lastModified, completedLastModified, openLastModified);
+    }
+
+    private static LocalDateTime later(LocalDateTime current, LocalDateTime candidate) {
+        if (current == null || candidate.isAfter(current)) {
+            return candidate;
+        }
+        return current.plusNanos(1000);
+    }
+
+    private record Summary(long total, long completed, LocalDateTime lastModified,
+                           LocalDateTime completedLastModified, LocalDateTime openLastModified) {
+    }
+
+    private record OrderKey(LocalDateTime createdAt, long id) implements Comparable<OrderKey> {
+
+        private static final Comparator<OrderKey> NEWEST_FIRST = Comparator.comparing(OrderKey::createdAt)
+                .thenComparingLong(OrderKey::id)
+                .reversed();
+
+        @Override
+        public int compareTo(OrderKey other) {
+            return NEWEST_FIRST.compare(this, other);
+        }
+    }
+}
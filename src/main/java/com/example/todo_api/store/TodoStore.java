@@ -0,0 +1,104 @@
+package com.example.todo_api.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.search.TodoSearchDocument;
+
+/**
+ * Storage engine under {@code TodoService}, selected with {@code todo.store.engine}: {@code jpa}
+ * (the default, {@link JpaTodoStore}) or {@code memory} ({@link MemoryTodoStore}).
+ * <p>
+ * Todos go in and come out as immutable {@link TodoView}s. Lists are ordered newest first by
+ * {@code (createdAt, id)}. Writes assign ids, bump versions and return the stored state; an update
+ * function receives the current state and returns the new one, of which only title, description,
+ * completed, updatedAt and tags are kept.
+ */
+public interface TodoStore {
+
+    List<TodoView> findAll();
+
+    List<TodoView> findByCompleted(boolean completed);
+
+    /**
+     * Up to {@code limit} todos after {@code after} (or from the newest when null), optionally
+     * filtered by status.
+     */
+    List<TodoView> findPage(Boolean completed, TodoCursor after, int limit);
+
+    /**
+     * Every todo, newest first. The caller must close the stream.
+     */
+    Stream<TodoView> streamAll();
+
+    Stream<TodoSearchDocument> streamSearchDocuments();
+
+    Optional<TodoView> findById(long id);
+
+    /**
+     * The todos among {@code ids} that exist, in no particular order.
+     */
+    List<TodoView> findAllById(List<Long> ids);
+
+    Optional<LocalDateTime> findUpdatedAtById(long id);
+
+    /**
+     * Row count plus a last-modified time that changes whenever the (optionally filtered)
+     * collection does; the basis of collection ETags.
+     */
+    TodoCollectionVersion collectionVersion(Boolean completed);
+
+    TodoCounts countTodos(LocalDateTime startOfDay);
+
+    /**
+     * Stores new todos; id and version of the given views are ignored.
+     */
+    List<TodoView> insertAll(List<TodoView> todos);
+
+    /**
+     * Applies {@code change} to the todo and returns its state before and after, or empty when it
+     * does not exist. The function may throw to abort without writing.
+     */
+    Optional<Change> update(long id, UnaryOperator<TodoView> change);
+
+    /**
+     * {@link #update} for several todos at once; ids that do not exist are left out of the result.
+     */
+    Map<Long, Change> updateAll(Map<Long, UnaryOperator<TodoView>> changes);
+
+    /**
+     * Flips {@code completed} in one atomic step, so concurrent toggles cannot lose each other.
+     */
+    Optional<Change> toggle(long id, LocalDateTime updatedAt);
+
+    /**
+     * Deletes the todo and returns its last state, or empty when it does not exist. {@code check}
+     * sees that state first and may throw to abort without deleting.
+     */
+    Optional<TodoView> delete(long id, Consumer<TodoView> check);
+
+    default Optional<TodoView> delete(long id) {
+        return delete(id, todo -> { });
+    }
+
+    /**
+     * Deletes the todos among {@code ids} that exist and returns their last state.
+     */
+    List<TodoView> deleteAll(List<Long> ids);
+
+    default TodoView insert(TodoView todo) {
+        return insertAll(List.of(todo)).get(0);
+    }
+
+    record Change(TodoView previous, TodoView current) {
+    }
+}
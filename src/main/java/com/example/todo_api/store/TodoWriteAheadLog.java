@@ -0,0 +1,447 @@
+package com.example.todo_api.store;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.todo_api.model.dto.TodoView;
+
+/**
+ * Durable state of {@link MemoryTodoStore}: numbered log segments plus compacted snapshots, all
+ * in one directory.
+ * <p>
+ * Every record is framed as {@code [length][crc32][payload]}, so a record torn by a crash or
+ * damaged on disk is detected on replay; the segment is truncated at the last intact record.
+ * {@code snapshot-N} holds the full state as of the start of {@code segment-N} and is written to a
+ * temporary file, forced and renamed into place before any older file is deleted. Appends and
+ * rotation are serialized by the store; {@link #awaitDurable} may be called from any thread, and
+ * the first waiter forces the segment for everyone who appended before it (group commit).
+ */
+final class TodoWriteAheadLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int HEADER_BYTES = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte SNAPSHOT_END = 3;
+
+    private final Path directory;
+    private final boolean fsync;
+    // a lock rather than a monitor, so virtual threads waiting on a force do not pin their carrier
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile FileChannel channel;
+    private long segment;
+    // bytes appended and bytes known forced, across all segments; appended is written by the
+    // single appender, durable only under syncLock
+    private volatile long appended;
+    private long durable;
+
+    TodoWriteAheadLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            for (Path path : files("", TMP_SUFFIX)) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open todo store log in " + directory, ex);
+        }
+    }
+
+    /**
+     * Loads the newest snapshot and replays the segments after it, then starts a new segment.
+     *
+     * @return the next unused id recorded by the snapshot, or 1 without one
+     */
+    long recover(Consumer<TodoView> onPut, LongConsumer onDelete) {
+        try {
+            long nextId = 1;
+            long fromSegment = 0;
+            List<Path> snapshots = files(SNAPSHOT_PREFIX, "");
+            if (!snapshots.isEmpty()) {
+                Path snapshot = snapshots.get(snapshots.size() - 1);
+                fromSegment = number(snapshot, SNAPSHOT_PREFIX);
+                nextId = readSnapshot(snapshot, onPut);
+            }
+            long lastSegment = fromSegment;
+            for (Path path : files(SEGMENT_PREFIX, "")) {
+                long number = number(path, SEGMENT_PREFIX);
+                if (number >= fromSegment) {
+                    replaySegment(path, onPut, onDelete);
+                    lastSegment = number;
+                }
+            }
+            segment = lastSegment + 1;
+            channel = open(segment);
+            return nextId;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot recover todo store from " + directory, ex);
+        }
+    }
+
+    /**
+     * @return the log position to pass to {@link #awaitDurable}
+     */
+    long appendPuts(List<TodoView> todos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(todos.size() * 128);
+        for (TodoView todo : todos) {
+            frame(bytes, encodePut(todo));
+        }
+        return append(bytes.toByteArray());
+    }
+
+    long appendDeletes(List<Long> ids) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(ids.size() * (HEADER_BYTES + 9));
+        for (Long id : ids) {
+            frame(bytes, encode(out -> {
+                out.writeByte(DELETE);
+                out.writeLong(id);
+            }));
+        }
+        return append(bytes.toByteArray());
+    }
+
+    /**
+     * Returns once everything appended up to {@code position} is on disk. A no-op without fsync,
+     * where writes are left to the OS page cache and survive a process crash but not a power loss.
+     */
+    void awaitDurable(long position) {
+        if (!fsync) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durable >= position) {
+                return;
+            }
+            long target = appended;
+            try {
+                channel.force(false);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot sync todo store log", ex);
+            }
+            durable = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current segment and starts a new one.
+     *
+     * @return the number of the new segment; a snapshot of the state at this point is
+     *         {@code snapshot-} that number
+     */
+    long rotate() {
+        syncLock.lock();
+        try {
+            channel.force(false);
+            durable = appended;
+            channel.close();
+            segment++;
+            channel = open(segment);
+            return segment;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot rotate todo store log", ex);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Writes {@code snapshot-segment} and deletes the segments and snapshots it supersedes.
+     */
+    void writeSnapshot(long segment, List<TodoView> todos, long nextId) {
+        Path target = directory.resolve(SNAPSHOT_PREFIX + segment);
+        Path tmp = directory.resolve(SNAPSHOT_PREFIX + segment + TMP_SUFFIX);
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+                for (TodoView todo : todos) {
+                    frame(bytes, encodePut(todo));
+                    if (bytes.size() >= 64 * 1024) {
+                        write(out, bytes.toByteArray());
+                        bytes.reset();
+                    }
+                }
+                frame(bytes, encode(data -> {
+                    data.writeByte(SNAPSHOT_END);
+                    data.writeLong(nextId);
+                    data.writeInt(todos.size());
+                }));
+                write(out, bytes.toByteArray());
+                out.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+
+            for (Path path : files(SEGMENT_PREFIX, "")) {
+                if (number(path, SEGMENT_PREFIX) < segment) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            for (Path path : files(SNAPSHOT_PREFIX, "")) {
+                if (number(path, SNAPSHOT_PREFIX) < segment) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write todo store snapshot " + target.getFileName(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        try {
+            if (fsync) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Cannot close todo store log", ex);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private long append(byte[] records) {
+        try {
+            write(channel, records);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to todo store log", ex);
+        }
+        appended += records.length;
+        return appended;
+    }
+
+    private long readSnapshot(Path path, Consumer<TodoView> onPut) throws IOException {
+        long remaining = Files.size(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int count = 0;
+            while (true) {
+                byte[] payload = readRecord(in, remaining);
+                if (payload == null) {
+                    throw new IOException("Snapshot " + path.getFileName() + " is incomplete");
+                }
+                remaining -= HEADER_BYTES + payload.length;
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = record.readByte();
+                if (type == PUT) {
+                    onPut.accept(decodePut(record));
+                    count++;
+                } else if (type == SNAPSHOT_END) {
+                    long nextId = record.readLong();
+                    if (record.readInt() != count) {
+                        throw new IOException("Snapshot " + path.getFileName() + " is incomplete");
+                    }
+                    return nextId;
+                } else {
+                    throw new IOException("Unexpected record type " + type + " in " + path.getFileName());
+                }
+            }
+        }
+    }
+
+    private void replaySegment(Path path, Consumer<TodoView> onPut, LongConsumer onDelete) throws IOException {
+        long size = Files.size(path);
+        long intact = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            byte[] payload;
+            while ((payload = readRecord(in, size - intact)) != null) {
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = record.readByte();
+                if (type == PUT) {
+                    onPut.accept(decodePut(record));
+                } else if (type == DELETE) {
+                    onDelete.accept(record.readLong());
+                } else {
+                    break;
+                }
+                intact += HEADER_BYTES + payload.length;
+            }
+        }
+        if (intact < size) {
+            log.warn("Truncating {} torn or damaged bytes at the end of {}", size - intact, path.getFileName());
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(intact);
+                file.force(true);
+            }
+        }
+    }
+
+    // null at a clean end of file and at a torn or damaged record
+    private static byte[] readRecord(DataInputStream in, long remaining) throws IOException {
+        if (remaining < HEADER_BYTES) {
+            return null;
+        }
+        int length = in.readInt();
+        int checksum = in.readInt();
+        if (length <= 0 || length > remaining - HEADER_BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException ex) {
+            return null;
+        }
+        return checksum(payload) == checksum ? payload : null;
+    }
+
+    private static byte[] encodePut(TodoView todo) {
+        return encode(out -> {
+            out.writeByte(PUT);
+            out.writeLong(todo.id());
+            writeString(out, todo.title());
+            writeString(out, todo.description());
+            out.writeBoolean(todo.completed());
+            writeTime(out, todo.createdAt());
+            writeTime(out, todo.updatedAt());
+            out.writeLong(todo.version());
+            out.writeInt(todo.tags().size());
+            for (String tag : todo.tags()) {
+                writeString(out, tag);
+            }
+        });
+    }
+
+    private static TodoView decodePut(DataInputStream in) throws IOException {
+        TodoView todo = new TodoView(in.readLong(), readString(in), readString(in), in.readBoolean(),
+                readTime(in), readTime(in), in.readLong());
+        // records written before todos had tags end after the version
+        if (in.available() == 0) {
+            return todo;
+        }
+        List<String> tags = new ArrayList<>();
+        for (int count = in.readInt(); count > 0; count--) {
+            tags.add(readString(in));
+        }
+        return todo.withTags(tags);
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void frame(ByteArrayOutputStream out, byte[] payload) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(payload.length).putInt(checksum(payload));
+        out.writeBytes(header.array());
+        out.writeBytes(payload);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void write(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private void syncDirectory() {
+        // makes the rename itself durable; not supported on every platform
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            log.debug("Cannot sync directory {}", directory, ex);
+        }
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(directory.resolve(SEGMENT_PREFIX + number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> files(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix)
+                                && (!suffix.isEmpty() || !name.endsWith(TMP_SUFFIX));
+                    })
+                    .sorted((a, b) -> prefix.isEmpty() ? a.compareTo(b) : Long.compare(number(a, prefix), number(b, prefix)))
+                    .toList();
+        }
+    }
+
+    private static long number(Path path, String prefix) {
+        return Long.parseLong(path.getFileName().toString().substring(prefix.length()));
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
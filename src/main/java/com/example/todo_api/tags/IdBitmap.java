@@ -0,0 +1,403 @@
+package com.example.todo_api.tags;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative ids in the style of a Roaring bitmap. Ids are grouped by their
+ * high 48 bits into chunks of 65536; a chunk is kept as a sorted array of the low 16 bits while it
+ * holds up to 4096 ids and as a 65536-bit bitmap beyond that, so dense runs of sequence-allocated
+ * ids cost about a bit each and sparse ones two bytes. Intersections and unions run chunk by chunk,
+ * merging arrays or combining whole words. Not thread-safe.
+ */
+final class IdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    void add(long id) {
+        checkId(id);
+        long key = id >>> 16;
+        char low = (char) id;
+        int index = indexOf(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add(low);
+            return;
+        }
+        ArrayContainer container = new ArrayContainer(new char[4], 0);
+        insert(-index - 1, key, container.add(low));
+    }
+
+    void remove(long id) {
+        if (id < 0) {
+            return;
+        }
+        int index = indexOf(id >>> 16);
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) id);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    void clear() {
+        keys = new long[4];
+        containers = new Container[4];
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ids in ascending order.
+     */
+    long[] toArray() {
+        long[] ids = new long[Math.toIntExact(cardinality())];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = containers[i].fill(keys[i] << 16, ids, offset);
+        }
+        return ids;
+    }
+
+    static IdBitmap and(IdBitmap a, IdBitmap b) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].and(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static IdBitmap or(IdBitmap a, IdBitmap b) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(long key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    // keys arrive in ascending order while building the result of a set operation
+    private void append(long key, Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    private static void checkId(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Ids must not be negative: " + id);
+        }
+    }
+
+    /**
+     * Ids of one chunk, by their low 16 bits. Operations may return a different container (an
+     * array that outgrew its limit comes back as a bitmap and vice versa); the set operations
+     * always return new containers.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container copy();
+
+        /**
+         * Writes the ids of this chunk in ascending order from {@code offset} and returns the
+         * offset after them.
+         */
+        abstract int fill(long high, long[] out, int offset);
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (!(other instanceof ArrayContainer array)) {
+                return other.or(this);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(result, count);
+            return count > ARRAY_MAX ? union.toBitmap() : union;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        int fill(long high, long[] out, int offset) {
+            for (int i = 0; i < cardinality; i++) {
+                out[offset++] = high | values[i];
+            }
+            return offset;
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                words[low >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArrayContainer(words, cardinality) : this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (!(other instanceof BitmapContainer bitmap)) {
+                return other.and(this);
+            }
+            long[] result = new long[WORDS];
+            int count = 0;
+            for (int w = 0; w < WORDS; w++) {
+                result[w] = words[w] & bitmap.words[w];
+                count += Long.bitCount(result[w]);
+            }
+            return count <= ARRAY_MAX ? toArrayContainer(result, count) : new BitmapContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof BitmapContainer bitmap) {
+                int count = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] |= bitmap.words[w];
+                    count += Long.bitCount(result[w]);
+                }
+                return new BitmapContainer(result, count);
+            }
+            BitmapContainer union = new BitmapContainer(result, cardinality);
+            ArrayContainer array = (ArrayContainer) other;
+            for (int i = 0; i < array.cardinality; i++) {
+                union.add(array.values[i]);
+            }
+            return union;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int fill(long high, long[] out, int offset) {
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[offset++] = high | ((long) w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+
+        private static ArrayContainer toArrayContainer(long[] words, int cardinality) {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
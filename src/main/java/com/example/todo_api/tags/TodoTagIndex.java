@@ -0,0 +1,289 @@
+package com.example.todo_api.tags;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.store.TodoStore;
+
+/**
+ * In-memory bitmap index of todo ids per tag and per completion state.
+ * <p>
+ * Built once before the web server starts accepting requests, then kept current from
+ * {@link TodoChangedEvent}s after each commit, like {@code TodoSearchIndex}. Tag filters are
+ * answered by intersecting or uniting {@link IdBitmap}s instead of joining {@code todo_tags}; the
+ * caller loads the matching todos by id. Tagged todos also keep their creation time, so a page in
+ * the list order can be picked here and only its rows loaded.
+ */
+@Component
+public class TodoTagIndex implements SmartInitializingSingleton {
+
+    public enum Mode {
+        // todos carrying every requested tag
+        ALL,
+        // todos carrying at least one of them
+        ANY
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TodoTagIndex.class);
+
+    // (createdAt, id) pairs in list order
+    private static final Comparator<long[]> NEWEST_FIRST =
+            Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]).reversed();
+
+    private final TodoStore todoStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IdBitmap> byTag = new HashMap<>();
+    private final IdBitmap completedIds = new IdBitmap();
+    private final IdBitmap openIds = new IdBitmap();
+    // only todos that have tags, to find the bitmaps to clear when they change and to order pages
+    private final Map<Long, Tagged> taggedById = new HashMap<>();
+
+    @Autowired
+    public TodoTagIndex(TodoStore todoStore, PlatformTransactionManager transactionManager) {
+        this.todoStore = todoStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            byTag.clear();
+            taggedById.clear();
+            completedIds.clear();
+            openIds.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TodoView> stream = todoStore.streamAll()) {
+                    stream.forEach(todo -> indexLocked(todo.id(), todo.completed(), todo.createdAt(), todo.tags()));
+                }
+            });
+            log.info("Indexed tags of {} todos ({} tags) in {} ms", completedIds.cardinality() + openIds.cardinality(),
+                    byTag.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoResponse current = event.current();
+        if (current == null) {
+            remove(event.id());
+        } else if (event.type() == TodoChangedEvent.ChangeType.TOGGLED) {
+            // toggles only change the status, and buffered ones do not carry tags
+            setCompleted(current.getId(), current.isCompleted());
+        } else {
+            index(current.getId(), current.isCompleted(), current.getCreatedAt(), current.getTags());
+        }
+    }
+
+    public void index(long id, boolean completed, LocalDateTime createdAt, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(id, completed, createdAt, normalize(tags));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeTagsLocked(id);
+            completedIds.remove(id);
+            openIds.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return completedIds.cardinality() + openIds.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the todos matching {@code tags} under {@code mode}, optionally only those with the
+     * given status, in ascending order.
+     */
+    public long[] find(Collection<String> tags, Mode mode, Boolean completed) {
+        List<String> wanted = normalize(tags);
+        lock.readLock().lock();
+        try {
+            return matchLocked(wanted, mode, completed).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the first {@code limit} matching todos after {@code after} in list order (newest
+     * first by creation time, then by id). Matches are ranked here without loading them, so
+     * only the page itself has to be read from the store.
+     */
+    public long[] findPage(Collection<String> tags, Mode mode, Boolean completed, TodoCursor after, int limit) {
+        List<String> wanted = normalize(tags);
+        long afterCreatedAt = after == null ? Long.MAX_VALUE : sortKey(after.createdAt());
+        long afterId = after == null ? Long.MAX_VALUE : after.id();
+        lock.readLock().lock();
+        try {
+            // the oldest of the newest matches seen so far is on top, ready to be evicted
+            PriorityQueue<long[]> page = new PriorityQueue<>(limit + 1, NEWEST_FIRST.reversed());
+            for (long id : matchLocked(wanted, mode, completed).toArray()) {
+                long createdAt = taggedById.get(id).createdAt();
+                if (createdAt > afterCreatedAt || (createdAt == afterCreatedAt && id >= afterId)) {
+                    continue;
+                }
+                long[] entry = {createdAt, id};
+                if (page.size() < limit) {
+                    page.add(entry);
+                } else if (NEWEST_FIRST.compare(entry, page.peek()) < 0) {
+                    page.poll();
+                    page.add(entry);
+                }
+            }
+            long[] ids = new long[page.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = page.poll()[1];
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tags as stored: trimmed, lower-cased, without blanks or duplicates, sorted.
+     */
+    public static List<String> normalize(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                normalized.add(tag.strip().toLowerCase(Locale.ROOT));
+            }
+        }
+        return List.copyOf(normalized);
+    }
+
+    private IdBitmap matchLocked(List<String> wanted, Mode mode, Boolean completed) {
+        List<IdBitmap> bitmaps = new ArrayList<>(wanted.size());
+        for (String tag : wanted) {
+            IdBitmap bitmap = byTag.get(tag);
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            } else if (mode == Mode.ALL) {
+                return new IdBitmap();
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return new IdBitmap();
+        }
+
+        IdBitmap result;
+        if (mode == Mode.ALL) {
+            // the smallest bitmap bounds the result, so start from it
+            bitmaps.sort(Comparator.comparingLong(IdBitmap::cardinality));
+            result = bitmaps.get(0);
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result = IdBitmap.and(result, bitmaps.get(i));
+            }
+        } else {
+            result = bitmaps.get(0);
+            for (int i = 1; i < bitmaps.size(); i++) {
+                result = IdBitmap.or(result, bitmaps.get(i));
+            }
+        }
+        if (completed != null) {
+            result = IdBitmap.and(result, completed ? completedIds : openIds);
+        }
+        return result;
+    }
+
+    private void indexLocked(long id, boolean completed, LocalDateTime createdAt, List<String> tags) {
+        removeTagsLocked(id);
+        setCompletedLocked(id, completed);
+        if (tags.isEmpty()) {
+            return;
+        }
+        for (String tag : tags) {
+            byTag.computeIfAbsent(tag, key -> new IdBitmap()).add(id);
+        }
+        taggedById.put(id, new Tagged(tags, sortKey(createdAt)));
+    }
+
+    private void setCompleted(long id, boolean completed) {
+        lock.writeLock().lock();
+        try {
+            setCompletedLocked(id, completed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setCompletedLocked(long id, boolean completed) {
+        (completed ? completedIds : openIds).add(id);
+        (completed ? openIds : completedIds).remove(id);
+    }
+
+    private void removeTagsLocked(long id) {
+        Tagged previous = taggedById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String tag : previous.tags()) {
+            IdBitmap bitmap = byTag.get(tag);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    // microseconds since the epoch, the precision created_at is stored with
+    private static long sortKey(LocalDateTime createdAt) {
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000;
+    }
+
+    private record Tagged(List<String> tags, long createdAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todo_api.writebehind;
+
+import com.example.todo_api.model.dto.TodoResponse;
+
+/**
+ * One accepted write as recorded in the journal. {@code insert} is true when the row does not
+ * exist in the database yet; otherwise {@code todo} is the state the row must end up in.
+ */
+public record JournalEntry(boolean insert, TodoResponse todo) {
+}
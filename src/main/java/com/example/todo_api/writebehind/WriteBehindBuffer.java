@@ -0,0 +1,549 @@
+package com.example.todo_api.writebehind;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todo_api.TodoEtags;
+import com.example.todo_api.config.CacheConfig;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.exception.TooManyRequestsException;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Opt-in write-behind path for creates and toggles.
+ * <p>
+ * Accepted writes are held in a bounded map keyed by todo id, so repeated toggles of the same
+ * todo collapse into one row write. The map is flushed in a single JDBC batch transaction when it
+ * reaches {@code todo.write-behind.flush-size} or every {@code todo.write-behind.flush-interval},
+ * and once more on shutdown. Caches are evicted and {@link TodoChangedEvent}s published only after
+ * the flush commits. With a journal directory configured, accepted writes survive a crash and are
+ * replayed on the next start.
+ * <p>
+ * A buffered toggle records the version it was based on. If another write commits in between, the
+ * toggle is re-applied at flush time on top of the row as it is then, as a synchronous toggle would
+ * have been, instead of overwriting that write; it is dropped only when the row has been deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.write-behind.enabled", havingValue = "true")
+public class WriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    // matches allocationSize on Todo.id, so ids handed out here never collide with Hibernate's
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final String INSERT_SQL = "merge into todos (id, title, description, completed, created_at, updated_at, version) "
+            + "key (id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TAG_SQL = "merge into todo_tags (todo_id, tag) key (todo_id, tag) values (?, ?)";
+    // only applies on top of the version the toggle was based on, so it never overwrites a newer write
+    private static final String UPDATE_SQL = "update todos set completed = ?, updated_at = ?, version = ? "
+            + "where id = ? and version = ?";
+    private static final String SELECT_SQL = "select id, title, description, completed, created_at, updated_at, version "
+            + "from todos where id = ?";
+    private static final String SELECT_TAGS_SQL = "select tag from todo_tags where todo_id = ? order by tag";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int maxPending;
+    private final int flushSize;
+    private final Duration flushInterval;
+    private final String journalDirectory;
+    private final boolean journalFsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<Long, PendingWrite> pending = new LinkedHashMap<>();
+    private Map<Long, PendingWrite> inFlight = Map.of();
+    private long nextId;
+    private long idLimit;
+    private WriteBehindJournal journal;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public WriteBehindBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             CacheManager cacheManager, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                             @Value("${todo.write-behind.max-pending}") int maxPending,
+                             @Value("${todo.write-behind.flush-size}") int flushSize,
+                             @Value("${todo.write-behind.flush-interval}") Duration flushInterval,
+                             @Value("${todo.write-behind.journal.directory:}") String journalDirectory,
+                             @Value("${todo.write-behind.journal.fsync:false}") boolean journalFsync) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.maxPending = maxPending;
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.journalDirectory = journalDirectory;
+        this.journalFsync = journalFsync;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!journalDirectory.isBlank()) {
+            journal = new WriteBehindJournal(Path.of(journalDirectory), journalFsync, objectMapper);
+            replay();
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushInterval.toMillis() * 4, TimeUnit.MILLISECONDS);
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Flushed {} pending write-behind rows on shutdown", flushed);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public TodoResponse enqueueCreate(TodoRequest request) {
+        LocalDateTime now = TodoEtags.now();
+        TodoResponse todo = new TodoResponse();
+        todo.setTitle(request.getTitle());
+        todo.setDescription(request.getDescription());
+        todo.setCompleted(request.isCompleted());
+        todo.setCreatedAt(now);
+        todo.setUpdatedAt(now);
+        todo.setVersion(0L);
+        todo.setTags(TodoTagIndex.normalize(request.getTags()));
+
+        int size;
+        lock.lock();
+        try {
+            checkCapacity();
+            todo.setId(allocateId());
+            accept(new PendingWrite(true, todo, null));
+            size = pending.size();
+        } finally {
+            lock.unlock();
+        }
+        afterAccept(size);
+        return copyOf(todo);
+    }
+
+    public TodoResponse enqueueToggle(Long id) {
+        TodoResponse stored = null;
+        while (true) {
+            lock.lock();
+            try {
+                PendingWrite base = pending.get(id);
+                if (base == null) {
+                    base = inFlight.get(id);
+                    if (base != null) {
+                        // the row is being written right now; queue the toggle as an update behind it
+                        base = new PendingWrite(false, base.state(), base.state());
+                    }
+                }
+                if (base == null && stored != null) {
+                    base = new PendingWrite(false, stored, stored);
+                }
+                if (base != null) {
+                    if (!pending.containsKey(id)) {
+                        checkCapacity();
+                    }
+                    TodoResponse toggled = copyOf(base.state());
+                    toggled.setCompleted(!toggled.isCompleted());
+                    toggled.setUpdatedAt(TodoEtags.now());
+                    if (!base.insert()) {
+                        toggled.setVersion(base.previous().getVersion() + 1);
+                    }
+                    accept(new PendingWrite(base.insert(), toggled, base.previous()));
+                    afterAccept(pending.size());
+                    return copyOf(toggled);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // not buffered: read the committed row outside the lock, then retry
+            stored = load(id);
+        }
+    }
+
+    /**
+     * Returns the accepted but not yet committed state of a todo, if any, so reads and
+     * conditional requests observe the caller's own writes.
+     */
+    public Optional<TodoResponse> pendingState(Long id) {
+        lock.lock();
+        try {
+            PendingWrite write = pending.get(id);
+            if (write == null) {
+                write = inFlight.get(id);
+            }
+            return Optional.ofNullable(write).map(w -> copyOf(w.state()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes immediately when the todo has buffered writes, so a synchronous update or delete is
+     * applied after them rather than being overwritten by them.
+     */
+    public void flushIfPending(Long id) {
+        if (pendingState(id).isPresent()) {
+            flush();
+        }
+    }
+
+    /**
+     * The batch form of {@link #flushIfPending(Long)}: one flush covers every todo in {@code ids}.
+     */
+    public void flushIfPending(Collection<Long> ids) {
+        boolean anyPending;
+        lock.lock();
+        try {
+            anyPending = ids.stream()
+                    .anyMatch(id -> id != null && (pending.containsKey(id) || inFlight.containsKey(id)));
+        } finally {
+            lock.unlock();
+        }
+        if (anyPending) {
+            flush();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes everything accepted so far in one transaction.
+     *
+     * @return the number of rows written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch;
+            long sealedSegment;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                inFlight = new LinkedHashMap<>(pending);
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                sealedSegment = journal != null ? journal.rotate() : -1;
+            } finally {
+                lock.unlock();
+            }
+
+            List<PendingWrite> written;
+            try {
+                written = transactionTemplate.execute(status -> write(batch));
+            } catch (RuntimeException ex) {
+                requeue(batch);
+                throw ex;
+            }
+
+            lock.lock();
+            try {
+                inFlight = Map.of();
+            } finally {
+                lock.unlock();
+            }
+            if (journal != null) {
+                journal.discardThrough(sealedSegment);
+            }
+            publish(batch, written);
+            return written.size();
+        } finally {
+            flushRequested.set(false);
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Write-behind flush failed; pending writes will be retried", ex);
+        }
+    }
+
+    private void checkCapacity() {
+        if (pending.size() >= maxPending) {
+            requestFlush();
+            long retryAfter = Math.max(1, (flushInterval.toMillis() + 999) / 1000);
+            throw new TooManyRequestsException("Write-behind queue is full; retry later", retryAfter);
+        }
+    }
+
+    private void accept(PendingWrite write) {
+        if (journal != null) {
+            journal.append(new JournalEntry(write.insert(), write.state()));
+        }
+        pending.put(write.state().getId(), write);
+    }
+
+    private void afterAccept(int size) {
+        if (size >= flushSize) {
+            requestFlush();
+        }
+    }
+
+    private void requestFlush() {
+        if (flusher != null && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void requeue(List<PendingWrite> batch) {
+        lock.lock();
+        try {
+            Map<Long, PendingWrite> merged = new LinkedHashMap<>();
+            for (PendingWrite write : batch) {
+                Long id = write.state().getId();
+                PendingWrite newer = pending.remove(id);
+                if (newer == null) {
+                    merged.put(id, write);
+                } else if (write.insert()) {
+                    merged.put(id, new PendingWrite(true, newer.state(), null));
+                } else {
+                    // newer was based on the failed write; rebase it on what is actually committed
+                    TodoResponse state = copyOf(newer.state());
+                    state.setVersion(write.previous().getVersion() + 1);
+                    merged.put(id, new PendingWrite(false, state, write.previous()));
+                }
+            }
+            merged.putAll(pending);
+            pending.clear();
+            pending.putAll(merged);
+            inFlight = Map.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the writes that were applied, with toggles whose row changed since they were accepted
+     *         rebased on that row; toggles of rows that disappeared are left out
+     */
+    private List<PendingWrite> write(List<PendingWrite> batch) {
+        List<PendingWrite> written = new ArrayList<>(batch.size());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> tagInserts = new ArrayList<>();
+        List<PendingWrite> updated = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            TodoResponse todo = write.state();
+            if (write.insert()) {
+                inserts.add(new Object[] {todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                        Timestamp.valueOf(todo.getCreatedAt()), Timestamp.valueOf(todo.getUpdatedAt()), todo.getVersion()});
+                for (String tag : todo.getTags()) {
+                    tagInserts.add(new Object[] {todo.getId(), tag});
+                }
+                written.add(write);
+            } else {
+                // coalesced toggles still advance the version by one from the state they started from
+                updates.add(new Object[] {todo.isCompleted(), Timestamp.valueOf(todo.getUpdatedAt()), todo.getVersion(),
+                        todo.getId(), todo.getVersion() - 1});
+                updated.add(write);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!tagInserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tagInserts);
+        }
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    written.add(updated.get(i));
+                } else {
+                    retry(updated.get(i)).ifPresent(written::add);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Re-applies a toggle whose version guard missed to the row as it is now, locking it so the
+     * update cannot miss again.
+     */
+    private Optional<PendingWrite> retry(PendingWrite write) {
+        TodoResponse accepted = write.state();
+        if (write.previous() == null) {
+            // replayed from the journal: nothing to flip against, and nobody is waiting on it
+            log.warn("Dropped replayed toggle for todo {}; it was changed after version {}",
+                    accepted.getId(), accepted.getVersion() - 1);
+            return Optional.empty();
+        }
+        if (accepted.isCompleted() == write.previous().isCompleted()) {
+            // the coalesced toggles cancel out
+            return Optional.empty();
+        }
+        List<TodoResponse> rows = jdbcTemplate.query(SELECT_SQL + " for update", ROW_MAPPER, accepted.getId());
+        if (rows.isEmpty()) {
+            log.warn("Dropped buffered toggle for todo {}; it was deleted before the flush", accepted.getId());
+            return Optional.empty();
+        }
+        TodoResponse current = rows.get(0);
+        current.setTags(jdbcTemplate.queryForList(SELECT_TAGS_SQL, String.class, current.getId()));
+        TodoResponse toggled = copyOf(current);
+        toggled.setCompleted(!current.isCompleted());
+        toggled.setUpdatedAt(TodoEtags.now());
+        toggled.setVersion(current.getVersion() + 1);
+        jdbcTemplate.update(UPDATE_SQL, toggled.isCompleted(), Timestamp.valueOf(toggled.getUpdatedAt()),
+                toggled.getVersion(), toggled.getId(), current.getVersion());
+        return Optional.of(new PendingWrite(false, toggled, current));
+    }
+
+    private void publish(List<PendingWrite> batch, List<PendingWrite> written) {
+        Cache byId = cacheManager.getCache(CacheConfig.TODOS_BY_ID);
+        Cache byStatus = cacheManager.getCache(CacheConfig.TODOS_BY_STATUS);
+        if (byStatus != null) {
+            byStatus.clear();
+        }
+        if (byId != null) {
+            for (PendingWrite write : batch) {
+                byId.evict(write.state().getId());
+            }
+        }
+        for (PendingWrite write : written) {
+            if (write.insert()) {
+                eventPublisher.publishEvent(TodoChangedEvent.created(write.state()));
+            } else {
+                eventPublisher.publishEvent(TodoChangedEvent.toggled(write.previous(), write.state()));
+            }
+        }
+    }
+
+    private void replay() {
+        List<JournalEntry> entries = journal.readSealed();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingWrite> replayed = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            PendingWrite earlier = replayed.get(entry.todo().getId());
+            boolean insert = entry.insert() || (earlier != null && earlier.insert());
+            replayed.put(entry.todo().getId(), new PendingWrite(insert, entry.todo(), null));
+        }
+        // Rows that were already committed must not be overwritten: an insert whose row exists is
+        // replayed as a version-guarded update, which skips it when the row has moved on since.
+        int applied = transactionTemplate.execute(status -> {
+            List<PendingWrite> batch = new ArrayList<>(replayed.size());
+            for (PendingWrite write : replayed.values()) {
+                boolean exists = write.insert() && !jdbcTemplate.queryForList(
+                        "select id from todos where id = ?", Long.class, write.state().getId()).isEmpty();
+                if (!exists) {
+                    batch.add(write);
+                } else if (write.state().getVersion() > 0) {
+                    batch.add(new PendingWrite(false, write.state(), null));
+                }
+            }
+            return write(batch).size();
+        });
+        journal.discardThrough(journal.currentSegment() - 1);
+        log.info("Replayed {} write-behind rows from the journal, {} of them applied", replayed.size(), applied);
+    }
+
+    private long allocateId() {
+        if (nextId == idLimit) {
+            Long low = jdbcTemplate.queryForObject("select next value for todos_seq", Long.class);
+            nextId = low;
+            idLimit = low + ID_BLOCK_SIZE;
+        }
+        return nextId++;
+    }
+
+    private TodoResponse load(Long id) {
+        List<TodoResponse> rows = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Todo", "id", id);
+        }
+        TodoResponse todo = rows.get(0);
+        todo.setTags(jdbcTemplate.queryForList(SELECT_TAGS_SQL, String.class, id));
+        return todo;
+    }
+
+    private static final RowMapper<TodoResponse> ROW_MAPPER = (rs, rowNum) -> {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(rs.getLong("id"));
+        todo.setTitle(rs.getString("title"));
+        todo.setDescription(rs.getString("description"));
+        todo.setCompleted(rs.getBoolean("completed"));
+        todo.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        todo.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        todo.setVersion(rs.getLong("version"));
+        return todo;
+    };
+
+    private static TodoResponse copyOf(TodoResponse source) {
+        TodoResponse copy = new TodoResponse();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setCompleted(source.isCompleted());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        copy.setTags(List.copyOf(source.getTags()));
+        return copy;
+    }
+
+    /**
+     * {@code previous} is the committed state the coalesced toggles started from, or null for
+     * rows that have not been inserted yet.
+     */
+    private record PendingWrite(boolean insert, TodoResponse state, TodoResponse previous) {
+    }
+}
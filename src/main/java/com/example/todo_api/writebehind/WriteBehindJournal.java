@@ -0,0 +1,163 @@
+package com.example.todo_api.writebehind;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Append-only NDJSON log of writes accepted by {@link WriteBehindBuffer} but not yet committed.
+ * <p>
+ * Writes go to numbered segments. Each flush seals the current segment and starts a new one;
+ * once the flush commits, every segment up to the sealed one is deleted. Segments left behind by
+ * a crash are replayed on the next start. Callers serialize access.
+ */
+public class WriteBehindJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindJournal.class);
+    private static final String PREFIX = "write-behind-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private long segment;
+    private FileChannel channel;
+
+    public WriteBehindJournal(Path directory, boolean fsync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+            this.segment = segments().stream().mapToLong(WriteBehindJournal::segmentNumber).max().orElse(0) + 1;
+            this.channel = open(segment);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open write-behind journal in " + directory, ex);
+        }
+    }
+
+    public void append(JournalEntry entry) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to write-behind journal", ex);
+        }
+    }
+
+    /**
+     * Closes the current segment and starts a new one.
+     *
+     * @return the number of the sealed segment, to pass to {@link #discardThrough(long)} once its
+     *         writes are committed
+     */
+    public long rotate() {
+        try {
+            channel.close();
+            long sealed = segment;
+            segment++;
+            channel = open(segment);
+            return sealed;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot rotate write-behind journal", ex);
+        }
+    }
+
+    public void discardThrough(long sealed) {
+        try {
+            for (Path path : segments()) {
+                if (segmentNumber(path) <= sealed) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot delete committed write-behind journal segments", ex);
+        }
+    }
+
+    /**
+     * Reads every sealed segment in order. A torn final line from a crash mid-append is skipped.
+     */
+    public List<JournalEntry> readSealed() {
+        List<JournalEntry> entries = new ArrayList<>();
+        try {
+            for (Path path : segments()) {
+                if (segmentNumber(path) >= segment) {
+                    continue;
+                }
+                try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            entries.add(objectMapper.readValue(line, JournalEntry.class));
+                        } catch (JsonProcessingException ex) {
+                            log.warn("Skipping unreadable write-behind journal entry in {}", path.getFileName());
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read write-behind journal", ex);
+        }
+        return entries;
+    }
+
+    public long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Cannot close write-behind journal", ex);
+        }
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(directory.resolve(PREFIX + number + SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
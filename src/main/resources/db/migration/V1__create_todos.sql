@@ -0,0 +1,21 @@
+-- ids are handed out in pooled-lo blocks of 50, see allocationSize on Todo.id
+create sequence todos_seq start with 1 increment by 50;
+
+create table todos (
+    id          bigint       not null,
+    title       varchar(100) not null,
+    description varchar(500),
+    completed   boolean      not null default false,
+    created_at  timestamp(6) not null,
+    updated_at  timestamp(6) not null,
+    version     bigint       not null default 0,
+    primary key (id)
+);
+
+-- newest-first listing and keyset pages, all rows and per status
+create index idx_todos_created_at_id on todos (created_at, id);
+create index idx_todos_completed_created_at_id on todos (completed, created_at, id);
+
+-- max(updated_at) for collection ETags, all rows and per status
+create index idx_todos_updated_at on todos (updated_at);
+create index idx_todos_completed_updated_at on todos (completed, updated_at);
@@ -0,0 +1,13 @@
+-- completed todos moved out of the hot table by TodoArchiver, keeping their ids from todos
+create table archived_todos (
+    id           bigint       not null,
+    title        varchar(100) not null,
+    description  varchar(500),
+    created_at   timestamp(6) not null,
+    completed_at timestamp(6) not null,
+    archived_at  timestamp(6) not null,
+    primary key (id)
+);
+
+-- newest-first keyset pages, same ordering as the live list
+create index idx_archived_todos_created_at_id on archived_todos (created_at, id);
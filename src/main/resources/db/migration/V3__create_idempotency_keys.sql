@@ -0,0 +1,14 @@
+-- first responses to requests sent with an Idempotency-Key, shared between instances when
+-- todo.idempotency.jdbc.enabled is on. A row with a null status is claimed but not finished yet.
+create table idempotency_keys (
+    idempotency_key varchar(400)  not null,
+    fingerprint     varchar(200)  not null,
+    status          integer,
+    etag            varchar(100),
+    body            blob,
+    created_at      timestamp(6)  not null,
+    primary key (idempotency_key)
+);
+
+-- expiry sweeps
+create index idx_idempotency_keys_created_at on idempotency_keys (created_at);
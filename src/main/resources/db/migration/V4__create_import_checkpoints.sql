@@ -0,0 +1,13 @@
+-- progress of bulk imports, one row per byte range of the source file. next_offset is advanced in
+-- the same transaction as the rows it covers, so a resumed import neither skips nor repeats rows.
+create table import_checkpoints (
+    job_id      varchar(64)  not null,
+    chunk       integer      not null,
+    chunk_start bigint       not null,
+    chunk_end   bigint       not null,
+    next_offset bigint       not null,
+    imported    bigint       not null,
+    rejected    bigint       not null,
+    updated_at  timestamp(6) not null,
+    primary key (job_id, chunk)
+);
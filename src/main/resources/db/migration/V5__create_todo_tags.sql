@@ -0,0 +1,8 @@
+-- labels on todos, one row per todo and tag. Filtering by tag is answered from the in-memory
+-- TodoTagIndex, so this table is only read by todo id. Deleting or archiving a todo drops its tags.
+create table todo_tags (
+    todo_id bigint      not null,
+    tag     varchar(50) not null,
+    primary key (todo_id, tag),
+    constraint fk_todo_tags_todo foreign key (todo_id) references todos (id) on delete cascade
+);
@@ -0,0 +1,8 @@
+-- tags of archived todos, copied by TodoArchiver in the same transaction that moves the todo
+-- (deleting the todo cascades to todo_tags)
+create table archived_todo_tags (
+    todo_id bigint      not null,
+    tag     varchar(50) not null,
+    primary key (todo_id, tag),
+    constraint fk_archived_todo_tags_todo foreign key (todo_id) references archived_todos (id) on delete cascade
+);
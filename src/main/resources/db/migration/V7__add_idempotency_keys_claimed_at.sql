@@ -0,0 +1,5 @@
+-- when an unfinished row was claimed: a claim not completed or released within
+-- todo.idempotency.wait-timeout belongs to a request that died, and the key may be claimed again
+alter table idempotency_keys add column claimed_at timestamp(6);
+
+update idempotency_keys set claimed_at = created_at;
@@ -0,0 +1,47 @@
+package com.example.todo_api;
+
+import com.example.todo_api.changes.ChangeFeed;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.exception.ServiceUnavailableException;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ChangeFeedTest {
+
+    private final ChangeFeed changeFeed = new ChangeFeed(new ObjectMapper().findAndRegisterModules(),
+            8, 4, 2, 1, Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void shouldRejectSubscribersOverTheLimit() {
+        changeFeed.subscribe(null);
+        changeFeed.subscribe(null);
+
+        assertThatThrownBy(() -> changeFeed.subscribe(null))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(changeFeed.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAcceptResumeIdsFromAnotherRun() {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(1L);
+        todo.setTitle("Streamed todo");
+        changeFeed.onTodoChanged(TodoChangedEvent.created(todo));
+
+        assertThatCode(() -> changeFeed.subscribe("stale-epoch-1")).doesNotThrowAnyException();
+        assertThatCode(() -> changeFeed.subscribe("not an id")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todo_api;
+
+import com.example.todo_api.config.DataSourceConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSourceRoutingTest {
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplica() {
+        DataSource primary = database("routing_primary");
+        DataSource replica = database("routing_replica");
+        DataSource dataSource = new DataSourceConfig().dataSource(primary, Optional.of(replica));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        String written = readWrite.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+        String read = readOnly.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+
+        assertThat(written).isEqualTo("routing_primary");
+        assertThat(read).isEqualTo("routing_replica");
+        assertThat(jdbcTemplate.queryForObject("select name from marker", String.class))
+                .isEqualTo("routing_primary");
+    }
+
+    @Test
+    void shouldUsePrimaryWithoutReplica() {
+        DataSource primary = database("routing_only");
+        DataSource dataSource = new DataSourceConfig().dataSource(primary, Optional.empty());
+
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        String read = readOnly.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("select name from marker", String.class));
+
+        assertThat(read).isEqualTo("routing_only");
+    }
+
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists marker (name varchar(50))");
+        jdbcTemplate.update("delete from marker");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.todo_api;
+
+import com.example.todo_api.exception.IdempotencyKeyReusedException;
+import com.example.todo_api.exception.ResourceNotFoundException;
+import com.example.todo_api.idempotency.IdempotencyKeys;
+import com.example.todo_api.idempotency.JdbcIdempotencyStore;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.ratelimit.ClientIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyKeysTest {
+
+    @Mock
+    private ObjectProvider<JdbcIdempotencyStore> jdbcStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void shouldReplayTheFirstResponseWithoutRunningAgain() {
+        IdempotencyKeys keys = keys();
+        TodoRequest todoRequest = request("Buy milk");
+
+        ResponseEntity<TodoResponse> first = keys.execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+        ResponseEntity<TodoResponse> retry = keys.execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(retry.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody().getId()).isEqualTo(first.getBody().getId());
+    }
+
+    @Test
+    void shouldCollapseConcurrentDuplicates() throws Exception {
+        IdempotencyKeys keys = keys();
+        TodoRequest todoRequest = request("Buy milk");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<TodoResponse>> first = CompletableFuture.supplyAsync(() ->
+                keys.execute(post("key-1"), todoRequest, TodoResponse.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return create();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<ResponseEntity<TodoResponse>> duplicate = CompletableFuture.supplyAsync(() ->
+                keys.execute(post("key-1"), todoRequest, TodoResponse.class, this::create));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody().getId())
+                .isEqualTo(first.get(5, TimeUnit.SECONDS).getBody().getId());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldRefuseAKeyReusedForAnotherRequest() {
+        IdempotencyKeys keys = keys();
+        keys.execute(post("key-1"), request("Buy milk"), TodoResponse.class, this::create);
+
+        assertThatThrownBy(() -> keys.execute(post("key-1"), request("Buy bread"), TodoResponse.class, this::create))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldNotRememberFailures() {
+        IdempotencyKeys keys = keys();
+        TodoRequest todoRequest = request("Buy milk");
+
+        assertThatThrownBy(() -> keys.execute(post("key-1"), todoRequest, TodoResponse.class, () -> {
+            throw new ResourceNotFoundException("Todo", "id", 1L);
+        })).isInstanceOf(ResourceNotFoundException.class);
+        ResponseEntity<TodoResponse> retry = keys.execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retry.getHeaders().containsKey(IdempotencyKeys.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void shouldReplayFromTheTableAfterARestart() {
+        useTable();
+        TodoRequest todoRequest = request("Buy milk");
+
+        ResponseEntity<TodoResponse> first = keys().execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+        // a fresh instance has an empty in-memory cache
+        ResponseEntity<TodoResponse> retry = keys().execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody().getTitle()).isEqualTo(first.getBody().getTitle());
+    }
+
+    @Test
+    void shouldTakeOverAKeyAbandonedMidRequest() {
+        JdbcTemplate jdbcTemplate = useTable();
+        // claimed by an instance that died before completing or releasing it
+        jdbcTemplate.update("insert into idempotency_keys (idempotency_key, fingerprint, created_at, claimed_at) "
+                + "values (?, 'stale', ?, ?)", "ip:127.0.0.1 key-1", LocalDateTime.now().minusMinutes(1),
+                LocalDateTime.now().minusMinutes(1));
+        TodoRequest todoRequest = request("Buy milk");
+
+        ResponseEntity<TodoResponse> first = keys().execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+        ResponseEntity<TodoResponse> retry = keys().execute(post("key-1"), todoRequest, TodoResponse.class, this::create);
+
+        assertThat(calls).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyKeys.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    private JdbcTemplate useTable() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:idempotency_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V3__create_idempotency_keys.sql"),
+                new ClassPathResource("db/migration/V7__add_idempotency_keys_claimed_at.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        when(jdbcStore.getIfAvailable()).thenReturn(
+                new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofSeconds(5)));
+        return jdbcTemplate;
+    }
+
+    private IdempotencyKeys keys() {
+        return new IdempotencyKeys(objectMapper, jdbcStore, new ClientIdentity(List.of()), 1000,
+                Duration.ofHours(1), Duration.ofSeconds(5));
+    }
+
+    private ResponseEntity<TodoResponse> create() {
+        TodoResponse todo = new TodoResponse();
+        todo.setId((long) calls.incrementAndGet());
+        todo.setTitle("Buy milk");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setUpdatedAt(todo.getCreatedAt());
+        return ResponseEntity.status(HttpStatus.CREATED).eTag("\"" + todo.getId() + "\"").body(todo);
+    }
+
+    private static MockHttpServletRequest post(String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/todos");
+        request.addHeader(IdempotencyKeys.HEADER, idempotencyKey);
+        return request;
+    }
+
+    private static TodoRequest request(String title) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo_api;
+
+import com.example.todo_api.model.dto.TodoCollectionVersion;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.store.MemoryTodoStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoryTodoStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverEveryWriteAfterACrash() {
+        MemoryTodoStore store = new MemoryTodoStore(directory, true);
+        List<TodoView> created = store.insertAll(List.of(todo("First", 0), todo("Second", 1), todo("Third", 2)));
+        store.update(created.get(0).id(), todo -> new TodoView(todo.id(), "First (edited)", todo.description(),
+                todo.completed(), todo.createdAt(), BASE.plusHours(1), todo.version()));
+        store.toggle(created.get(1).id(), BASE.plusHours(2));
+        store.delete(created.get(2).id());
+
+        // no close(): the process died, so there is no shutdown snapshot
+        MemoryTodoStore recovered = new MemoryTodoStore(directory, true);
+
+        assertThat(recovered.findAll()).containsExactlyElementsOf(store.findAll());
+        assertThat(recovered.findById(created.get(0).id())).get()
+                .satisfies(todo -> {
+                    assertThat(todo.title()).isEqualTo("First (edited)");
+                    assertThat(todo.version()).isEqualTo(1L);
+                });
+        assertThat(recovered.findByCompleted(true)).extracting(TodoView::id).containsExactly(created.get(1).id());
+        assertThat(recovered.findById(created.get(2).id())).isEmpty();
+        // ids are never handed out twice, even the one of a deleted todo
+        assertThat(recovered.insert(todo("Fourth", 3)).id()).isEqualTo(created.get(2).id() + 1);
+    }
+
+    @Test
+    void shouldDropATornRecordAtTheEndOfTheLog() throws IOException {
+        MemoryTodoStore store = new MemoryTodoStore(directory, false);
+        store.insertAll(List.of(todo("First", 0), todo("Second", 1)));
+
+        Path segment = files("segment-").stream()
+                .filter(path -> path.toFile().length() > 0)
+                .findFirst()
+                .orElseThrow();
+        long intactLength = Files.size(segment);
+        // the header of a record whose payload never made it to disk
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        MemoryTodoStore recovered = new MemoryTodoStore(directory, false);
+
+        assertThat(recovered.findAll()).extracting(TodoView::title).containsExactly("Second", "First");
+        assertThat(Files.size(segment)).isEqualTo(intactLength);
+        assertThat(recovered.insert(todo("Third", 2)).id()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldRecoverFromASnapshotPlusTheLogAfterIt() throws IOException {
+        MemoryTodoStore store = new MemoryTodoStore(directory, true);
+        List<TodoView> created = store.insertAll(List.of(todo("First", 0), todo("Second", 1)));
+        store.snapshot();
+        store.delete(created.get(0).id());
+        store.insert(todo("Third", 2));
+
+        MemoryTodoStore recovered = new MemoryTodoStore(directory, true);
+
+        assertThat(recovered.findAll()).extracting(TodoView::title).containsExactly("Third", "Second");
+        assertThat(files("snapshot-")).hasSize(1);
+        // segments the snapshot covers are gone
+        assertThat(files("segment-")).allMatch(path -> segmentNumber(path) >= snapshotNumber());
+    }
+
+    @Test
+    void shouldPageNewestFirstAndKeepCountsCurrent() {
+        MemoryTodoStore store = new MemoryTodoStore(directory, false);
+        List<TodoView> created = store.insertAll(List.of(todo("A", 0), todo("B", 1), todo("C", 2), todo("D", 3)));
+        store.toggle(created.get(1).id(), BASE.plusHours(1));
+        TodoCollectionVersion before = store.collectionVersion(false);
+
+        List<TodoView> firstPage = store.findPage(null, null, 2);
+        TodoView last = firstPage.get(firstPage.size() - 1);
+        List<TodoView> secondPage = store.findPage(null, new TodoCursor(last.createdAt(), last.id()), 2);
+
+        assertThat(firstPage).extracting(TodoView::title).containsExactly("D", "C");
+        assertThat(secondPage).extracting(TodoView::title).containsExactly("B", "A");
+        assertThat(store.findPage(false, null, 10)).extracting(TodoView::title).containsExactly("D", "C", "A");
+        assertThat(store.countTodos(BASE.plusMinutes(2))).satisfies(counts -> {
+            assertThat(counts.total()).isEqualTo(4);
+            assertThat(counts.completed()).isEqualTo(1);
+            assertThat(counts.createdToday()).isEqualTo(2);
+        });
+
+        store.delete(created.get(0).id());
+        assertThat(store.collectionVersion(false)).isNotEqualTo(before);
+        assertThat(store.collectionVersion(false).count()).isEqualTo(2L);
+    }
+
+    private static TodoView todo(String title, int minutes) {
+        LocalDateTime at = BASE.plusMinutes(minutes);
+        return new TodoView(null, title, null, false, at, at, null);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private long snapshotNumber() {
+        try {
+            return Long.parseLong(files("snapshot-").get(0).getFileName().toString().substring("snapshot-".length()));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        return Long.parseLong(path.getFileName().toString().substring("segment-".length()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.todo_api;
+
+import com.example.todo_api.exception.ApiExceptionHandler;
+import com.example.todo_api.exception.PreconditionFailedException;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.store.TodoStore;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class OptimisticLockingTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldReportAConcurrentUpdateAsAConflict() {
+        TodoResponse created = todoService.createTodo(request("Original title"));
+        Long id = created.getId();
+        ExecutorService otherRequest = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    todoStore.update(id, todo -> {
+                        // another request commits a newer version after this one has read the row
+                        await(otherRequest.submit(() -> todoService.updateTodo(id, request("Concurrent title"), null)));
+                        return new TodoView(todo.id(), "Stale title", todo.description(), todo.completed(),
+                                todo.createdAt(), todo.updatedAt(), todo.version(), todo.tags());
+                    })))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+        } finally {
+            otherRequest.shutdownNow();
+        }
+
+        TodoResponse stored = todoService.getTodoById(id);
+        assertThat(stored.getTitle()).isEqualTo("Concurrent title");
+        assertThat(stored.getVersion()).isEqualTo(created.getVersion() + 1);
+    }
+
+    @Test
+    void shouldCheckIfMatchInsideTheWrite() {
+        TodoResponse created = todoService.createTodo(request("Original title"));
+        String etag = TodoEtags.forTodo(created.getId(), created.getUpdatedAt());
+        ExecutorService otherRequest = Executors.newSingleThreadExecutor();
+        try {
+            // both requests carry the same ETag; the other one writes after this one has read the row
+            assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    todoStore.update(created.getId(), todo -> {
+                        await(otherRequest.submit(() -> todoService.updateTodo(created.getId(),
+                                request("Concurrent title"), etag)));
+                        return new TodoView(todo.id(), "Stale title", todo.description(), todo.completed(),
+                                todo.createdAt(), todo.updatedAt(), todo.version(), todo.tags());
+                    })))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+        } finally {
+            otherRequest.shutdownNow();
+        }
+
+        assertThatThrownBy(() -> todoService.updateTodo(created.getId(), request("Late title"), etag))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> todoService.deleteTodo(created.getId(), etag))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(todoService.getTodoById(created.getId()).getTitle()).isEqualTo("Concurrent title");
+    }
+
+    @Test
+    void shouldMapUntranslatedVersionFailuresToConflict() {
+        assertThat(new ApiExceptionHandler().handleOptimisticLockException(new OptimisticLockException())
+                .getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static TodoRequest request(String title) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.todo_api;
+
+import com.example.todo_api.exception.ServiceUnavailableException;
+import com.example.todo_api.exception.TooManyRequestsException;
+import com.example.todo_api.ratelimit.ClientIdentity;
+import com.example.todo_api.ratelimit.LoadShedder;
+import com.example.todo_api.ratelimit.RateLimitTier;
+import com.example.todo_api.ratelimit.RateLimiter;
+import com.example.todo_api.ratelimit.TokenBucket;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shouldAllowBurstThenRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(3, 2, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 2);
+
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerClientAndTier() {
+        RateLimiter rateLimiter = new RateLimiter(1, 0.1, 5, 100, 1000, Duration.ofMinutes(1));
+
+        rateLimiter.acquire(RateLimitTier.EXPENSIVE, "key:a");
+
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimitTier.EXPENSIVE, "key:a"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(10L);
+        assertThatCode(() -> rateLimiter.acquire(RateLimitTier.EXPENSIVE, "key:b")).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(RateLimitTier.CHEAP, "key:a")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldTrustOnlyConfiguredApiKeys() {
+        ClientIdentity clientIdentity = new ClientIdentity(List.of("known-key"));
+
+        String known = clientIdentity.clientKey(request("known-key"));
+        String invented = clientIdentity.clientKey(request("invented-key"));
+
+        assertThat(known).startsWith("key:").doesNotContain("known-key");
+        assertThat(clientIdentity.clientKey(request("known-key"))).isEqualTo(known);
+        assertThat(invented).isEqualTo("ip:10.0.0.1");
+        assertThat(new ClientIdentity(List.of()).clientKey(request("known-key"))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void shouldShedExpensiveRequestsFirstWhenSlow() {
+        LoadShedder loadShedder = new LoadShedder(mock(HikariDataSource.class), Duration.ofMillis(100), 10);
+
+        loadShedder.record(Duration.ofMillis(150).toNanos());
+
+        assertThatThrownBy(() -> loadShedder.check(RateLimitTier.EXPENSIVE))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThatCode(() -> loadShedder.check(RateLimitTier.CHEAP)).doesNotThrowAnyException();
+
+        loadShedder.record(Duration.ofMillis(250).toNanos());
+        loadShedder.record(Duration.ofMillis(250).toNanos());
+        for (int i = 0; i < 100; i++) {
+            loadShedder.record(Duration.ofMillis(1).toNanos());
+        }
+
+        assertThatCode(() -> loadShedder.check(RateLimitTier.EXPENSIVE)).doesNotThrowAnyException();
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(ClientIdentity.API_KEY_HEADER, apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todo_api;
+
+import com.example.todo_api.config.SerializationConfig;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializationConfigTest {
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+    @Test
+    void shouldWriteEpochMillisWhenEnabled() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new SerializationConfig().epochMillisDates().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+
+        String json = objectMapper.writeValueAsString(todo());
+        long millis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertThat(json).contains("\"createdAt\":" + millis);
+        assertThat(objectMapper.readValue(json, TodoResponse.class).getCreatedAt()).isEqualTo(createdAt);
+        assertThat(objectMapper.readValue("{\"createdAt\":\"2024-03-01T12:30:15\"}", TodoResponse.class).getCreatedAt())
+                .isEqualTo(createdAt);
+    }
+
+    @Test
+    void shouldRoundTripSmileSmallerThanJson() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        byte[] smileBytes = smile.writeValueAsBytes(todo());
+
+        assertThat(smileBytes.length).isLessThan(json.writeValueAsBytes(todo()).length);
+        assertThat(smile.readValue(smileBytes, TodoResponse.class)).isEqualTo(todo());
+    }
+
+    private TodoResponse todo() {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(42L);
+        todo.setTitle("Compact payloads");
+        todo.setDescription("Smile should beat JSON on size");
+        todo.setCompleted(true);
+        todo.setCreatedAt(createdAt);
+        todo.setUpdatedAt(createdAt.plusMinutes(5));
+        todo.setVersion(3L);
+        return todo;
+    }
+}
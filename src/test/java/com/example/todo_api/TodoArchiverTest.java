@@ -0,0 +1,110 @@
+package com.example.todo_api;
+
+import com.example.todo_api.archive.TodoArchiver;
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.ratelimit.LoadShedder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoArchiverTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoadShedder loadShedder;
+
+    private JdbcTemplate jdbcTemplate;
+    private TodoArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:archive_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__create_todos.sql"),
+                new ClassPathResource("db/migration/V2__create_archived_todos.sql"),
+                new ClassPathResource("db/migration/V5__create_todo_tags.sql"),
+                new ClassPathResource("db/migration/V6__create_archived_todo_tags.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        archiver = new TodoArchiver(jdbcTemplate, new DataSourceTransactionManager(dataSource), cacheManager,
+                eventPublisher, loadShedder, Duration.ofDays(30), 2, 10, Duration.ZERO);
+
+        LocalDateTime old = LocalDateTime.now().minusDays(40);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1);
+        insert(1, true, old);
+        insert(2, true, old);
+        insert(3, true, old);
+        insert(4, false, old);
+        insert(5, true, recent);
+        jdbcTemplate.update("insert into todo_tags (todo_id, tag) values (1, 'work'), (1, 'home'), (4, 'work')");
+    }
+
+    @Test
+    void shouldMoveOldCompletedTodosInChunks() {
+        int moved = archiver.archive();
+
+        assertThat(moved).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("select id from todos order by id", Long.class))
+                .containsExactly(4L, 5L);
+        assertThat(jdbcTemplate.queryForList("select id from archived_todos order by id", Long.class))
+                .containsExactly(1L, 2L, 3L);
+
+        ArgumentCaptor<TodoChangedEvent> events = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        List<TodoChangedEvent> published = events.getAllValues();
+        assertThat(published).allMatch(event -> event.type() == TodoChangedEvent.ChangeType.DELETED);
+        assertThat(published.get(0).previous().getTitle()).isEqualTo("Todo 1");
+        assertThat(published.get(0).previous().getTags()).containsExactly("home", "work");
+    }
+
+    @Test
+    void shouldMoveTagsWithTheirTodo() {
+        archiver.archive();
+
+        assertThat(jdbcTemplate.queryForList("select tag from archived_todo_tags where todo_id = 1 order by tag",
+                String.class)).containsExactly("home", "work");
+        assertThat(jdbcTemplate.queryForList("select todo_id from todo_tags", Long.class)).containsExactly(4L);
+    }
+
+    @Test
+    void shouldNotRunUnderLoad() {
+        when(loadShedder.isOverloaded()).thenReturn(true);
+
+        assertThat(archiver.archive()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todos", Long.class)).isEqualTo(5L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void insert(long id, boolean completed, LocalDateTime updatedAt) {
+        jdbcTemplate.update("insert into todos (id, title, description, completed, created_at, updated_at, version) "
+                + "values (?, ?, null, ?, ?, ?, 0)", id, "Todo " + id, completed, updatedAt.minusDays(1), updatedAt);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.todo_api;
+
+import com.example.todo_api.bulkimport.TodoImporter;
+import com.example.todo_api.exception.InvalidRequestException;
+import com.example.todo_api.model.dto.ImportProgress;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.stats.TodoStatistics;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoImporterTest {
+
+    @Mock
+    private TodoSearchIndex searchIndex;
+
+    @Mock
+    private TodoStatistics statistics;
+
+    @Mock
+    private TodoTagIndex tagIndex;
+
+    @TempDir
+    private Path directory;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__create_todos.sql"),
+                new ClassPathResource("db/migration/V4__create_import_checkpoints.sql"),
+                new ClassPathResource("db/migration/V5__create_todo_tags.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void shouldImportCsvAndRejectInvalidRows() throws Exception {
+        Files.writeString(directory.resolve("todos.csv"), """
+                title,completed,description
+                Buy milk,false,"Two litres, semi-skimmed"
+                "Say \"\"hi\"\"",true,
+                x,false,too short
+                Walk the dog,maybe,
+                Water plants,1,\r
+                """);
+
+        ImportProgress progress = importer(4, 1000).importFile("todos.csv");
+
+        assertThat(progress.state()).isEqualTo(ImportProgress.State.COMPLETED);
+        assertThat(progress.imported()).isEqualTo(3);
+        assertThat(progress.rejected()).isEqualTo(2);
+        assertThat(progress.processedBytes()).isEqualTo(progress.totalBytes());
+        assertThat(jdbcTemplate.queryForList("select title from todos order by title", String.class))
+                .containsExactly("Buy milk", "Say \"hi\"", "Water plants");
+        assertThat(jdbcTemplate.queryForObject("select description from todos where title = 'Buy milk'", String.class))
+                .isEqualTo("Two litres, semi-skimmed");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todos where completed", Integer.class)).isEqualTo(2);
+        assertThat(Files.readAllLines(directory.resolve(progress.rejectsFile())))
+                .hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains("Title must be between 3 and 100 characters"))
+                .anySatisfy(line -> assertThat(line).contains("completed must be true or false"));
+        verify(searchIndex).rebuild();
+        verify(statistics).reconcile();
+        verify(tagIndex).rebuild();
+    }
+
+    @Test
+    void shouldImportCsvTags() throws Exception {
+        Files.writeString(directory.resolve("todos.csv"), """
+                title,tags
+                Buy milk,Errands; home;errands
+                Read a book,
+                """);
+
+        ImportProgress progress = importer(1, 10).importFile("todos.csv");
+
+        assertThat(progress.imported()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+                "select tag from todo_tags join todos on todos.id = todo_id where title = 'Buy milk' order by tag",
+                String.class)).containsExactly("errands", "home");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_tags", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add("{\"title\":\"Todo number " + i + "\",\"completed\":" + (i % 2 == 0) + "}");
+        }
+        lines.add("{\"title\":");
+        Files.write(directory.resolve("todos.ndjson"), lines);
+
+        ImportProgress progress = importer(4, 16).importFile("todos.ndjson");
+
+        assertThat(progress.state()).isEqualTo(ImportProgress.State.COMPLETED);
+        assertThat(progress.imported()).isEqualTo(200);
+        assertThat(progress.rejected()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct title) from todos", Integer.class)).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from todos", Integer.class)).isEqualTo(200);
+    }
+
+    @Test
+    void shouldResumeAFailedImportFromItsCheckpoint() throws Exception {
+        Files.writeString(directory.resolve("todos.csv"), """
+                title
+                First todo
+                Second todo
+                Third todo
+                Fourth todo
+                Fifth todo
+                """);
+        // takes the id the second batch would get from todos_seq, so that batch fails
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into todos (id, title, completed, created_at, updated_at) values (3, 'In the way', false, ?, ?)",
+                now, now);
+
+        TodoImporter importer = importer(1, 2);
+        ImportProgress failed = importer.importFile("todos.csv");
+        assertThat(failed.state()).isEqualTo(ImportProgress.State.FAILED);
+        assertThat(failed.imported()).isEqualTo(2);
+
+        jdbcTemplate.update("delete from todos where id = 3");
+        ImportProgress resumed = importer.importFile("todos.csv");
+
+        assertThat(resumed.jobId()).isEqualTo(failed.jobId());
+        assertThat(resumed.state()).isEqualTo(ImportProgress.State.COMPLETED);
+        assertThat(resumed.imported()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("select title from todos order by id", String.class))
+                .containsExactly("First todo", "Second todo", "Third todo", "Fourth todo", "Fifth todo");
+
+        // an unchanged file that was fully imported is not imported again
+        assertThat(importer.importFile("todos.csv").imported()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todos", Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldStopAllChunksBeforeReportingAFailure() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add("title");
+        for (int i = 0; i < 2000; i++) {
+            lines.add("Todo number " + i);
+        }
+        Files.write(directory.resolve("todos.csv"), lines);
+        // the first id block goes to one worker, whose first batch then fails
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into todos (id, title, completed, created_at, updated_at) values (3, 'In the way', false, ?, ?)",
+                now, now);
+
+        TodoImporter importer = importer(4, 10);
+        ImportProgress failed = importer.importFile("todos.csv");
+        assertThat(failed.state()).isEqualTo(ImportProgress.State.FAILED);
+
+        // no worker of the failed run is still writing
+        Integer rowsAfterFailure = jdbcTemplate.queryForObject("select count(*) from todos", Integer.class);
+        Thread.sleep(200);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todos", Integer.class)).isEqualTo(rowsAfterFailure);
+
+        jdbcTemplate.update("delete from todos where id = 3");
+        ImportProgress resumed = importer.importFile("todos.csv");
+
+        assertThat(resumed.state()).isEqualTo(ImportProgress.State.COMPLETED);
+        assertThat(resumed.imported()).isEqualTo(2000);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todos", Integer.class)).isEqualTo(2000);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct title) from todos", Integer.class)).isEqualTo(2000);
+    }
+
+    @Test
+    void shouldRefuseFilesOutsideTheImportDirectory() {
+        assertThatThrownBy(() -> importer(1, 10).importFile("../todos.csv"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private TodoImporter importer(int parallelism, int batchSize) {
+        return new TodoImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                new ConcurrentMapCacheManager(), searchIndex, statistics, tagIndex, directory.toString(), parallelism,
+                batchSize);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.todo_api;
+
+import com.example.todo_api.search.SearchHits;
+import com.example.todo_api.search.TodoSearchDocument;
+import com.example.todo_api.search.TodoSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TodoSearchIndexTest {
+
+    private TodoSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new TodoSearchIndex(null, null);
+        searchIndex.index(new TodoSearchDocument(1L, "Buy milk", "From the corner shop"));
+        searchIndex.index(new TodoSearchDocument(2L, "Call the shop", "Ask about milk delivery"));
+        searchIndex.index(new TodoSearchDocument(3L, "Write report", "Quarterly numbers"));
+    }
+
+    @Test
+    void shouldRankTitleMatchesFirst() {
+        SearchHits hits = searchIndex.search("milk", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldRequireAllTerms() {
+        SearchHits hits = searchIndex.search("MILK delivery", 0, 10);
+
+        assertThat(hits.ids()).containsExactly(2L);
+    }
+
+    @Test
+    void shouldPageResults() {
+        SearchHits hits = searchIndex.search("shop", 1, 1);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).hasSize(1);
+    }
+
+    @Test
+    void shouldReindexAndRemoveDocuments() {
+        searchIndex.index(new TodoSearchDocument(1L, "Buy bread", null));
+        searchIndex.remove(2L);
+
+        assertThat(searchIndex.search("milk", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("bread", 0, 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+}
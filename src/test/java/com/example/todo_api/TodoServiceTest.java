@@ -1,25 +1,51 @@
 package com.example.todo_api;
 
 
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.BatchResponse;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoPageResponse;
+import com.example.todo_api.model.dto.TodoPatchRequest;
 import com.example.todo_api.model.dto.TodoRequest;
 import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoView;
+import com.example.todo_api.model.dto.TodoSearchResponse;
+import com.example.todo_api.exception.PreconditionFailedException;
 import com.example.todo_api.exception.ResourceNotFoundException;
 import com.example.todo_api.model.entity.Todo;
 import com.example.todo_api.repository.TodoRepository;
+import com.example.todo_api.search.SearchHits;
+import com.example.todo_api.search.TodoSearchIndex;
+import com.example.todo_api.store.JpaTodoStore;
+import com.example.todo_api.tags.TodoTagIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +54,24 @@ public class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TodoSearchIndex searchIndex;
+
+    @Mock
+    private TodoTagIndex tagIndex;
+
     private TodoService todoService;
 
     private Todo todo;
@@ -36,6 +79,8 @@ public class TodoServiceTest {
 
     @BeforeEach
     void setUp() {
+        todoService = new TodoService(new JpaTodoStore(todoRepository, entityManager), objectMapper, validator,
+                eventPublisher, searchIndex, tagIndex);
         LocalDateTime now = LocalDateTime.now();
         
         todo = new Todo();
@@ -54,13 +99,56 @@ public class TodoServiceTest {
 
     @Test
     void shouldGetAllTodos() {
-        when(todoRepository.findAllByOrderByCreatedAtDesc()).thenReturn(List.of(todo));
+        when(todoRepository.findAllViews()).thenReturn(List.of(viewOf(todo)));
         
-        List<TodoResponse> todos = todoService.getAllTodos();
+        List<TodoView> todos = todoService.getAllTodos();
         
         assertThat(todos).hasSize(1);
-        assertThat(todos.get(0).getId()).isEqualTo(todo.getId());
-        verify(todoRepository, times(1)).findAllByOrderByCreatedAtDesc();
+        assertThat(todos.get(0).id()).isEqualTo(todo.getId());
+        verify(todoRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        Todo older = new Todo();
+        older.setId(2L);
+        older.setTitle("Older Todo");
+        older.setCreatedAt(todo.getCreatedAt().minusMinutes(1));
+        older.setUpdatedAt(older.getCreatedAt());
+        when(todoRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(viewOf(todo), viewOf(older)));
+
+        TodoPageResponse page = todoService.getTodoPage(null, 1, null);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getItems().get(0).id()).isEqualTo(todo.getId());
+        TodoCursor cursor = TodoCursor.decode(page.getNextCursor());
+        assertThat(cursor.id()).isEqualTo(todo.getId());
+        assertThat(cursor.createdAt()).isEqualTo(todo.getCreatedAt());
+    }
+
+    @Test
+    void shouldResumePageAfterCursor() {
+        TodoCursor cursor = new TodoCursor(todo.getCreatedAt().plusMinutes(1), 5L);
+        when(todoRepository.findPageAfterByCompleted(false, cursor.createdAt(), 5L, Limit.of(11)))
+                .thenReturn(List.of(viewOf(todo)));
+
+        TodoPageResponse page = todoService.getTodoPage(false, 10, cursor.encode());
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldExportTodosAsNdjson() throws Exception {
+        when(todoRepository.streamAllBy()).thenReturn(Stream.of(todo, todo));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        todoService.exportTodos(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo(todo.getTitle());
+        verify(entityManager, times(2)).detach(todo);
     }
 
     @Test
@@ -74,6 +162,18 @@ public class TodoServiceTest {
         verify(todoRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void shouldDeriveEtagFromUpdatedAtWithoutLoadingTodo() {
+        when(todoRepository.findUpdatedAtById(1L)).thenReturn(Optional.of(todo.getUpdatedAt()));
+
+        String etag = todoService.getTodoEtag(1L);
+
+        assertThat(etag).isEqualTo(TodoEtags.forTodo(1L, todo.getUpdatedAt()));
+        assertThat(TodoEtags.matchesIfMatch("W/" + etag, etag)).isFalse();
+        assertThat(TodoEtags.matchesIfMatch("\"other\", " + etag, etag)).isTrue();
+        verify(todoRepository, never()).findById(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenTodoNotFound() {
         when(todoRepository.findById(99L)).thenReturn(Optional.empty());
@@ -94,12 +194,63 @@ public class TodoServiceTest {
         verify(todoRepository, times(1)).save(any(Todo.class));
     }
 
+    @Test
+    void shouldCreateTodosInBatchWithPerItemResults() {
+        TodoRequest invalidRequest = new TodoRequest();
+        invalidRequest.setTitle("");
+        when(todoRepository.saveAll(anyList())).thenReturn(List.of(todo));
+
+        BatchResponse response = todoService.createTodos(List.of(todoRequest, invalidRequest));
+
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(201);
+        assertThat(response.getResults().get(0).getId()).isEqualTo(todo.getId());
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(400);
+        assertThat(response.getResults().get(1).getErrors()).containsKey("title");
+        verify(todoRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldReportMissingTodosInBatchDelete() {
+        when(todoRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(todo));
+
+        BatchResponse response = todoService.deleteTodos(List.of(1L, 99L));
+
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(204);
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(404);
+        verify(todoRepository, times(1)).deleteAllByIdInBatch(Set.of(1L));
+    }
+
+    @Test
+    void shouldPublishChangeEventOnCreate() {
+        when(todoRepository.save(any(Todo.class))).thenReturn(todo);
+
+        todoService.createTodo(todoRequest);
+
+        verify(eventPublisher, times(1)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    void shouldSearchInRankedOrder() {
+        Todo other = new Todo();
+        other.setId(2L);
+        other.setTitle("Other Todo");
+        when(searchIndex.search("todo", 0, 10)).thenReturn(new SearchHits(2, List.of(2L, 1L)));
+        when(todoRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(todo, other));
+
+        TodoSearchResponse response = todoService.searchTodos("todo", 0, 10);
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getItems()).extracting(TodoResponse::getId).containsExactly(2L, 1L);
+    }
+
     @Test
     void shouldUpdateTodo() {
         when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
         when(todoRepository.save(any(Todo.class))).thenReturn(todo);
         
-        TodoResponse updatedTodo = todoService.updateTodo(1L, todoRequest);
+        TodoResponse updatedTodo = todoService.updateTodo(1L, todoRequest, null);
         
         assertThat(updatedTodo.getId()).isEqualTo(todo.getId());
         verify(todoRepository, times(1)).findById(1L);
@@ -108,14 +259,70 @@ public class TodoServiceTest {
 
     @Test
     void shouldToggleTodoStatus() {
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(todo);
+        Todo toggled = new Todo();
+        toggled.setId(todo.getId());
+        toggled.setTitle(todo.getTitle());
+        toggled.setDescription(todo.getDescription());
+        toggled.setCompleted(!todo.isCompleted());
+        toggled.setCreatedAt(todo.getCreatedAt());
+        toggled.setUpdatedAt(LocalDateTime.now());
+        toggled.setVersion(1L);
+        when(todoRepository.toggleCompleted(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(toggled));
         
-        TodoResponse updatedTodo = todoService.toggleTodoStatus(1L);
+        TodoResponse updatedTodo = todoService.toggleTodoStatus(1L, null);
         
         assertThat(updatedTodo.isCompleted()).isNotEqualTo(todo.isCompleted());
-        verify(todoRepository, times(1)).findById(1L);
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        assertThat(updatedTodo.getVersion()).isEqualTo(1L);
+        verify(todoRepository, times(1)).toggleCompleted(eq(1L), any(LocalDateTime.class));
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldThrowWhenTogglingMissingTodo() {
+        when(todoRepository.toggleCompleted(eq(99L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> todoService.toggleTodoStatus(99L, null));
+    }
+
+    @Test
+    void shouldPatchOnlyProvidedFields() {
+        todo.setVersion(3L);
+        TodoPatchRequest patchRequest = new TodoPatchRequest();
+        patchRequest.setCompleted(true);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        when(todoRepository.save(any(Todo.class))).thenReturn(todo);
+
+        TodoResponse patchedTodo = todoService.patchTodo(1L, patchRequest, null);
+
+        assertThat(patchedTodo.isCompleted()).isTrue();
+        assertThat(patchedTodo.getTitle()).isEqualTo("Test Todo");
+        assertThat(patchedTodo.getDescription()).isEqualTo("Test Description");
+    }
+
+    @Test
+    void shouldRejectPatchWithStaleVersion() {
+        todo.setVersion(3L);
+        TodoPatchRequest patchRequest = new TodoPatchRequest();
+        patchRequest.setVersion(2L);
+        patchRequest.setTitle("Renamed");
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> todoService.patchTodo(1L, patchRequest, null));
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldRejectWritesWithStaleIfMatch() {
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        String stale = TodoEtags.forTodo(1L, todo.getUpdatedAt().minusSeconds(1));
+
+        assertThrows(PreconditionFailedException.class, () -> todoService.updateTodo(1L, todoRequest, stale));
+        assertThrows(PreconditionFailedException.class, () -> todoService.toggleTodoStatus(1L, stale));
+        assertThrows(PreconditionFailedException.class, () -> todoService.deleteTodo(1L, stale));
+        verify(todoRepository, never()).save(any(Todo.class));
+        verify(todoRepository, never()).toggleCompleted(anyLong(), any(LocalDateTime.class));
+        verify(todoRepository, never()).delete(any(Todo.class));
     }
 
     @Test
@@ -123,9 +330,14 @@ public class TodoServiceTest {
         when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
         doNothing().when(todoRepository).delete(todo);
         
-        todoService.deleteTodo(1L);
+        todoService.deleteTodo(1L, null);
         
         verify(todoRepository, times(1)).findById(1L);
         verify(todoRepository, times(1)).delete(todo);
     }
-}
\ No newline at end of file
+
+    private static TodoView viewOf(Todo todo) {
+        return new TodoView(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.todo_api;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoCounts;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.model.dto.TodoStatsResponse;
+import com.example.todo_api.stats.TodoStatistics;
+import com.example.todo_api.store.TodoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoStatisticsTest {
+
+    @Mock
+    private TodoStore todoStore;
+
+    private TodoStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TodoStatistics(todoStore);
+    }
+
+    @Test
+    void shouldSeedFromDatabase() {
+        when(todoStore.countTodos(any())).thenReturn(new TodoCounts(10L, 4L, 2L));
+
+        statistics.afterSingletonsInstantiated();
+        TodoStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(10);
+        assertThat(stats.getOpen()).isEqualTo(6);
+        assertThat(stats.getCompleted()).isEqualTo(4);
+        assertThat(stats.getCreatedToday()).isEqualTo(2);
+        assertThat(stats.getLastReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void shouldFollowChangeEvents() {
+        TodoResponse created = todo(1L, false, LocalDateTime.now());
+        TodoResponse toggled = todo(1L, true, created.getCreatedAt());
+        TodoResponse old = todo(2L, true, LocalDateTime.now().minusDays(3));
+
+        statistics.onTodoChanged(TodoChangedEvent.created(created));
+        statistics.onTodoChanged(TodoChangedEvent.created(old));
+        statistics.onTodoChanged(TodoChangedEvent.toggled(created, toggled));
+        statistics.onTodoChanged(TodoChangedEvent.deleted(2L, old));
+        TodoStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getCompleted()).isEqualTo(1);
+        assertThat(stats.getOpen()).isZero();
+        assertThat(stats.getCreatedToday()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+        statistics.onTodoChanged(TodoChangedEvent.created(todo(1L, false, LocalDateTime.now())));
+        when(todoStore.countTodos(any())).thenReturn(new TodoCounts(3L, 1L, 3L));
+
+        statistics.reconcile();
+        TodoStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getCompleted()).isEqualTo(1);
+        assertThat(stats.getCreatedToday()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepEventsAppliedWhileCounting() {
+        when(todoStore.countTodos(any())).thenAnswer(invocation -> {
+            // committed after the count had read the table
+            statistics.onTodoChanged(TodoChangedEvent.created(todo(4L, true, LocalDateTime.now())));
+            return new TodoCounts(3L, 1L, 3L);
+        });
+
+        statistics.reconcile();
+        TodoStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getCompleted()).isEqualTo(2);
+        assertThat(stats.getCreatedToday()).isEqualTo(4);
+        assertThat(stats.getLastReconciledAt()).isNotNull();
+    }
+
+    private static TodoResponse todo(Long id, boolean completed, LocalDateTime createdAt) {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setCompleted(completed);
+        todo.setCreatedAt(createdAt);
+        todo.setUpdatedAt(createdAt);
+        return todo;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todo_api;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.model.dto.TodoCursor;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.tags.TodoTagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TodoTagIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private TodoTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new TodoTagIndex(null, null);
+        tagIndex.index(1L, false, BASE.plusMinutes(1), List.of("work", "urgent"));
+        tagIndex.index(2L, true, BASE.plusMinutes(2), List.of("Work"));
+        tagIndex.index(3L, false, BASE.plusMinutes(3), List.of("home", "urgent"));
+        tagIndex.index(4L, false, BASE.plusMinutes(4), List.of());
+    }
+
+    @Test
+    void shouldMatchAllTags() {
+        assertThat(tagIndex.find(List.of("work", "URGENT"), TodoTagIndex.Mode.ALL, null)).containsExactly(1L);
+        assertThat(tagIndex.find(List.of("work", "missing"), TodoTagIndex.Mode.ALL, null)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchAnyTag() {
+        assertThat(tagIndex.find(List.of("work", "home"), TodoTagIndex.Mode.ANY, null)).containsExactly(1L, 2L, 3L);
+        assertThat(tagIndex.find(List.of("work", "missing"), TodoTagIndex.Mode.ANY, null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldFilterByStatus() {
+        assertThat(tagIndex.find(List.of("work"), TodoTagIndex.Mode.ANY, true)).containsExactly(2L);
+        assertThat(tagIndex.find(List.of("work"), TodoTagIndex.Mode.ANY, false)).containsExactly(1L);
+    }
+
+    @Test
+    void shouldFollowChangeEvents() {
+        TodoResponse retagged = response(1L, false, List.of("home"));
+        tagIndex.onTodoChanged(TodoChangedEvent.updated(response(1L, false, List.of("work", "urgent")), retagged));
+        tagIndex.onTodoChanged(TodoChangedEvent.toggled(response(3L, false, List.of()), response(3L, true, List.of())));
+        tagIndex.onTodoChanged(TodoChangedEvent.deleted(2L, response(2L, true, List.of("work"))));
+
+        assertThat(tagIndex.find(List.of("work"), TodoTagIndex.Mode.ANY, null)).isEmpty();
+        assertThat(tagIndex.find(List.of("home"), TodoTagIndex.Mode.ANY, null)).containsExactly(1L, 3L);
+        // a toggle keeps the tags and only moves the todo to the other status
+        assertThat(tagIndex.find(List.of("home", "urgent"), TodoTagIndex.Mode.ALL, true)).containsExactly(3L);
+        assertThat(tagIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPickPagesNewestFirst() {
+        // ids and creation times disagree, as with ids handed out in blocks
+        tagIndex.index(5L, false, BASE.plusMinutes(10), List.of("work"));
+        tagIndex.index(6L, false, BASE.plusMinutes(2), List.of("work"));
+
+        long[] first = tagIndex.findPage(List.of("work"), TodoTagIndex.Mode.ANY, null, null, 3);
+        long[] second = tagIndex.findPage(List.of("work"), TodoTagIndex.Mode.ANY, null,
+                new TodoCursor(BASE.plusMinutes(2), 6L), 3);
+
+        assertThat(first).containsExactly(5L, 6L, 2L);
+        assertThat(second).containsExactly(2L, 1L);
+        assertThat(tagIndex.findPage(List.of("work"), TodoTagIndex.Mode.ANY, false, null, 10)).containsExactly(5L, 6L, 1L);
+    }
+
+    @Test
+    void shouldHandleDenseIdRanges() {
+        // enough ids in one 65536-id chunk to switch from a sorted array to a bitmap and back
+        LongStream.range(10, 10_010)
+                .forEach(id -> tagIndex.index(id, id % 2 == 0, BASE.plusSeconds(id), List.of("bulk")));
+        tagIndex.index(70_000L, true, BASE, List.of("bulk"));
+
+        assertThat(tagIndex.find(List.of("bulk"), TodoTagIndex.Mode.ANY, null)).hasSize(10_001);
+        assertThat(tagIndex.find(List.of("bulk"), TodoTagIndex.Mode.ALL, true))
+                .hasSize(5_001)
+                .startsWith(10L, 12L)
+                .endsWith(10_008L, 70_000L);
+
+        LongStream.range(10, 9_000).forEach(tagIndex::remove);
+
+        assertThat(tagIndex.find(List.of("bulk", "work"), TodoTagIndex.Mode.ANY, false))
+                .hasSize(506)
+                .startsWith(1L, 9_001L);
+    }
+
+    @Test
+    void shouldNormalizeTags() {
+        assertThat(TodoTagIndex.normalize(List.of(" Work ", "work", "", "Home"))).containsExactly("home", "work");
+    }
+
+    private static TodoResponse response(long id, boolean completed, List<String> tags) {
+        TodoResponse response = new TodoResponse();
+        response.setId(id);
+        response.setCompleted(completed);
+        response.setCreatedAt(BASE.plusMinutes(id));
+        response.setTags(tags);
+        return response;
+    }
+}
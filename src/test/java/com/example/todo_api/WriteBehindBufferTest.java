@@ -0,0 +1,217 @@
+package com.example.todo_api;
+
+import com.example.todo_api.event.TodoChangedEvent;
+import com.example.todo_api.exception.TooManyRequestsException;
+import com.example.todo_api.model.dto.TodoRequest;
+import com.example.todo_api.model.dto.TodoResponse;
+import com.example.todo_api.writebehind.JournalEntry;
+import com.example.todo_api.writebehind.WriteBehindBuffer;
+import com.example.todo_api.writebehind.WriteBehindJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new WriteBehindBuffer(jdbcTemplate, transactionManager, cacheManager, eventPublisher, objectMapper,
+                2, 100, Duration.ofSeconds(1), "", false);
+    }
+
+    @Test
+    void shouldCoalesceTogglesOfAPendingCreateIntoOneInsert() {
+        when(jdbcTemplate.queryForObject("select next value for todos_seq", Long.class)).thenReturn(51L);
+
+        TodoResponse created = buffer.enqueueCreate(request("Buy milk"));
+        buffer.enqueueToggle(created.getId());
+        TodoResponse toggled = buffer.enqueueToggle(created.getId());
+
+        assertThat(created.getId()).isEqualTo(51L);
+        assertThat(toggled.isCompleted()).isFalse();
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("merge into todos"), rows.capture());
+        assertThat(rows.getValue()).hasSize(1);
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("update todos"), anyList());
+        verify(eventPublisher).publishEvent(any(TodoChangedEvent.class));
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectWritesWhenTheQueueIsFull() {
+        when(jdbcTemplate.queryForObject("select next value for todos_seq", Long.class)).thenReturn(1L);
+
+        buffer.enqueueCreate(request("First todo"));
+        buffer.enqueueCreate(request("Second todo"));
+
+        assertThatThrownBy(() -> buffer.enqueueCreate(request("Third todo")))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+    }
+
+    @Test
+    void shouldApplyTogglesOfCommittedRowsAsOneUpdate() {
+        TodoResponse stored = new TodoResponse();
+        stored.setId(7L);
+        stored.setTitle("Stored todo");
+        stored.setCompleted(false);
+        stored.setCreatedAt(LocalDateTime.now());
+        stored.setUpdatedAt(LocalDateTime.now());
+        stored.setVersion(3L);
+        when(jdbcTemplate.query(startsWith("select id"), ArgumentMatchers.<RowMapper<TodoResponse>>any(), eq(7L)))
+                .thenReturn(List.of(stored));
+        when(jdbcTemplate.batchUpdate(startsWith("update todos"), anyList())).thenReturn(new int[] {1});
+
+        buffer.enqueueToggle(7L);
+        buffer.enqueueToggle(7L);
+        TodoResponse toggled = buffer.enqueueToggle(7L);
+
+        assertThat(toggled.isCompleted()).isTrue();
+        assertThat(toggled.getVersion()).isEqualTo(4L);
+
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith("update todos"), anyList());
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("merge into todos"), anyList());
+    }
+
+    @Test
+    void shouldRetryTogglesOfRowsChangedSinceTheyWereAccepted() {
+        TodoResponse stored = new TodoResponse();
+        stored.setId(7L);
+        stored.setTitle("Stored todo");
+        stored.setCreatedAt(LocalDateTime.now());
+        stored.setUpdatedAt(LocalDateTime.now());
+        stored.setVersion(3L);
+        // another write committed version 4 in the meantime
+        TodoResponse changed = new TodoResponse();
+        changed.setId(7L);
+        changed.setTitle("Changed elsewhere");
+        changed.setCompleted(true);
+        changed.setCreatedAt(stored.getCreatedAt());
+        changed.setUpdatedAt(LocalDateTime.now());
+        changed.setVersion(4L);
+        when(jdbcTemplate.query(startsWith("select id"), ArgumentMatchers.<RowMapper<TodoResponse>>any(), eq(7L)))
+                .thenReturn(List.of(stored), List.of(changed));
+        when(jdbcTemplate.batchUpdate(startsWith("update todos"), anyList())).thenReturn(new int[] {0});
+
+        buffer.enqueueToggle(7L);
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("update todos"), rows.capture());
+        assertThat(rows.getValue().get(0)).endsWith(4L, 7L, 3L);
+        verify(jdbcTemplate).update(startsWith("update todos"), eq(false), any(Timestamp.class), eq(5L), eq(7L), eq(4L));
+        ArgumentCaptor<TodoChangedEvent> event = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().previous().getVersion()).isEqualTo(4L);
+        assertThat(event.getValue().current().getTitle()).isEqualTo("Changed elsewhere");
+        assertThat(event.getValue().current().isCompleted()).isFalse();
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldDropTogglesOfRowsDeletedSinceTheyWereAccepted() {
+        TodoResponse stored = new TodoResponse();
+        stored.setId(7L);
+        stored.setTitle("Stored todo");
+        stored.setCreatedAt(LocalDateTime.now());
+        stored.setUpdatedAt(LocalDateTime.now());
+        stored.setVersion(3L);
+        when(jdbcTemplate.query(startsWith("select id"), ArgumentMatchers.<RowMapper<TodoResponse>>any(), eq(7L)))
+                .thenReturn(List.of(stored), List.of());
+        when(jdbcTemplate.batchUpdate(startsWith("update todos"), anyList())).thenReturn(new int[] {0});
+
+        buffer.enqueueToggle(7L);
+
+        assertThat(buffer.flush()).isZero();
+
+        verify(eventPublisher, never()).publishEvent(any(TodoChangedEvent.class));
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldKeepJournalSegmentsUntilDiscarded(@TempDir Path directory) throws Exception {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(1L);
+        todo.setTitle("Journaled todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setUpdatedAt(LocalDateTime.now());
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(directory, true, objectMapper)) {
+            journal.append(new JournalEntry(true, todo));
+            journal.rotate();
+        }
+        // simulate a crash halfway through an append
+        Files.writeString(directory.resolve("write-behind-2.log"), "{\"insert\":fal");
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(directory, false, objectMapper)) {
+            List<JournalEntry> entries = journal.readSealed();
+
+            assertThat(entries).hasSize(1);
+            assertThat(entries.get(0).insert()).isTrue();
+            assertThat(entries.get(0).todo().getTitle()).isEqualTo("Journaled todo");
+
+            journal.discardThrough(journal.currentSegment() - 1);
+            assertThat(journal.readSealed()).isEmpty();
+        }
+    }
+
+    private static TodoRequest request(String title) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        return request;
+    }
+}